@@ -0,0 +1,59 @@
+package com.travelitinerary.planner.cache;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the token revocation check's first step: probing the bloom filter for a token id that was never
+ * revoked ({@code absent}, the common case) and for one that was ({@code present}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BloomFilterBenchmark {
+    
+    @Param({"10000", "100000", "1000000"})
+    private int entries;
+    
+    private BloomFilter filter;
+    
+    private String[] absentKeys;
+    
+    private String[] presentKeys;
+    
+    private int next;
+    
+    @Setup
+    public void setup() {
+        filter = new BloomFilter(entries, 0.001);
+        presentKeys = new String[1024];
+        for (int i = 0; i < entries; i++) {
+            String key = "jti:" + UUID.randomUUID();
+            filter.add(key);
+            if (i < presentKeys.length) {
+                presentKeys[i] = key;
+            }
+        }
+        absentKeys = new String[1024];
+        for (int i = 0; i < absentKeys.length; i++) {
+            absentKeys[i] = "jti:" + UUID.randomUUID();
+        }
+    }
+    
+    @Benchmark
+    public boolean absent() {
+        next = (next + 1) & 1023;
+        return filter.mightContain(absentKeys[next]);
+    }
+    
+    @Benchmark
+    public boolean present() {
+        next = (next + 1) & 1023;
+        return filter.mightContain(presentKeys[next]);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.travelitinerary.planner.security;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of issuing and checking JWTs, with the verified-token cache enabled ({@code cached = true})
+ * and effectively disabled by a zero TTL.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtTokenProviderBenchmark {
+    
+    private static final String SECRET =
+            "benchmarkSecretKeyThatIsLongEnoughForHmacSha512SigningBenchmarkSecretKeyThatIsLongEnough";
+    
+    @Param({"true", "false"})
+    private boolean cached;
+    
+    private JwtTokenProvider tokenProvider;
+    
+    private String token;
+    
+    @Setup
+    public void setup() {
+        tokenProvider = new JwtTokenProvider();
+        setField("jwtSecret", SECRET);
+        setField("jwtExpirationMs", 86400000L);
+        setField("verifiedCacheMaxSize", 4096);
+        setField("verifiedCacheTtl", cached ? Duration.ofMinutes(10) : Duration.ZERO);
+        tokenProvider.init();
+        token = tokenProvider.generateToken(1L, "bench@example.com");
+    }
+    
+    private void setField(String name, Object value) {
+        // Stands in for the @Value injection Spring would do
+        Field field = ReflectionUtils.findField(JwtTokenProvider.class, name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, tokenProvider, value);
+    }
+    
+    @Benchmark
+    public String generateToken() {
+        return tokenProvider.generateToken(1L, "bench@example.com");
+    }
+    
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(token);
+    }
+    
+    @Benchmark
+    public String getEmailFromToken() {
+        return tokenProvider.getEmailFromToken(token);
+    }
+    
+    @Benchmark
+    public void parseForRequest(Blackhole blackhole) {
+        // What JwtAuthenticationFilter does per request
+        blackhole.consume(tokenProvider.parseToken(token));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.travelitinerary.planner.service;
+
+import com.travelitinerary.planner.model.Destination;
+import com.travelitinerary.planner.model.Trip;
+import com.travelitinerary.planner.model.User;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Detached entity graphs shaped like the data the API serves.
+ */
+public final class BenchmarkFixtures {
+    
+    private BenchmarkFixtures() {}
+    
+    public static Trip trip(int destinationCount) {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 15, 9, 30);
+        LocalDate start = LocalDate.of(2024, 6, 1);
+        
+        User user = new User("Benchmark User", "bench@example.com", "$2a$10$benchmarkbenchmarkbenchmarkbenchmarkbenchmarkbenchm");
+        user.setId(1L);
+        
+        Trip trip = new Trip("Summer in Europe", "Three weeks across the continent by train",
+                start, start.plusDays(21), user);
+        trip.setId(42L);
+        trip.setCreatedAt(now);
+        trip.setUpdatedAt(now);
+        
+        for (int i = 0; i < destinationCount; i++) {
+            Destination destination = new Destination(
+                    "Destination " + i,
+                    "Old town walk, museum visit and dinner near the river",
+                    start.plusDays(i % 21),
+                    LocalTime.of(9 + i % 10, 0),
+                    "Book tickets in advance",
+                    i + " Main Street, Springfield",
+                    (i + 1) * DestinationOrderService.ORDER_GAP,
+                    trip);
+            destination.setId(1000L + i);
+            destination.setCreatedAt(now);
+            destination.setUpdatedAt(now);
+            trip.addDestination(destination);
+        }
+        return trip;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,56 @@
+package com.travelitinerary.planner.service;
+
+import com.travelitinerary.planner.dto.DestinationResponse;
+import com.travelitinerary.planner.dto.TripResponse;
+import com.travelitinerary.planner.model.Destination;
+import com.travelitinerary.planner.model.Trip;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping done by the services on every read.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseMappingBenchmark {
+    
+    @Param({"10", "100", "1000"})
+    private int destinations;
+    
+    private TripService tripService;
+    
+    private DestinationService destinationService;
+    
+    private Trip trip;
+    
+    @Setup
+    public void setup() {
+        tripService = new TripService();
+        destinationService = new DestinationService();
+        trip = BenchmarkFixtures.trip(destinations);
+    }
+    
+    @Benchmark
+    public TripResponse tripSummary() {
+        return tripService.convertToTripResponse(trip);
+    }
+    
+    @Benchmark
+    public TripResponse tripWithDestinations() {
+        return tripService.convertToTripResponseWithDestinations(trip);
+    }
+    
+    @Benchmark
+    public void destinationList(Blackhole blackhole) {
+        for (Destination destination : trip.getDestinations()) {
+            DestinationResponse response = destinationService.convertToDestinationResponse(destination);
+            blackhole.consume(response);
+        }
+    }
+}
\ No newline at end of file
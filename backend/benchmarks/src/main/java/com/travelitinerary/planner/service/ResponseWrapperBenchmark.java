@@ -0,0 +1,60 @@
+package com.travelitinerary.planner.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.travelitinerary.planner.dto.TripResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of the {@code Map<String, Object>} envelopes the controllers return compared to the bare DTO.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseWrapperBenchmark {
+    
+    private ObjectMapper objectMapper;
+    
+    private TripResponse trip;
+    
+    private List<TripResponse> trips;
+    
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        TripService tripService = new TripService();
+        trip = tripService.convertToTripResponseWithDestinations(BenchmarkFixtures.trip(10));
+        trips = List.of(
+                tripService.convertToTripResponse(BenchmarkFixtures.trip(5)),
+                tripService.convertToTripResponse(BenchmarkFixtures.trip(10)),
+                tripService.convertToTripResponse(BenchmarkFixtures.trip(20)));
+    }
+    
+    @Benchmark
+    public byte[] bareTrip() throws Exception {
+        return objectMapper.writeValueAsBytes(trip);
+    }
+    
+    @Benchmark
+    public byte[] wrappedTrip() throws Exception {
+        Map<String, Object> response = new HashMap<>();
+        response.put("trip", trip);
+        return objectMapper.writeValueAsBytes(response);
+    }
+    
+    @Benchmark
+    public byte[] wrappedTripList() throws Exception {
+        Map<String, Object> response = new HashMap<>();
+        response.put("trips", trips);
+        response.put("nextCursor", null);
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
\ No newline at end of file
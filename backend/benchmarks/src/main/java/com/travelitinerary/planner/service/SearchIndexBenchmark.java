@@ -0,0 +1,82 @@
+package com.travelitinerary.planner.service;
+
+import com.travelitinerary.planner.dto.SearchResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search latency for one user while the total corpus grows. Each user has the same number of trips and
+ * destinations, so with owner-partitioned postings the scores should stay flat across {@code users}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SearchIndexBenchmark {
+    
+    private static final String[] WORDS = {
+            "ramen", "museum", "beach", "castle", "harbor", "market", "temple", "hike", "sunset", "gallery",
+            "brewery", "bridge", "island", "lake", "palace", "garden", "cathedral", "vineyard", "canyon", "festival",
+            "noodle", "sushi", "tapas", "pizza", "bakery", "tower", "river", "forest", "volcano", "street"
+    };
+    
+    private static final int TRIPS_PER_USER = 20;
+    
+    private static final int DESTINATIONS_PER_TRIP = 15;
+    
+    @Param({"10", "100", "1000"})
+    private int users;
+    
+    private SearchIndex searchIndex;
+    
+    private long userId;
+    
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        searchIndex = new SearchIndex();
+        long destinationId = 0;
+        for (long user = 1; user <= users; user++) {
+            for (int t = 0; t < TRIPS_PER_USER; t++) {
+                long tripId = user * TRIPS_PER_USER + t;
+                searchIndex.putTrip(tripId, user, words(random, 3), words(random, 12));
+                for (int d = 0; d < DESTINATIONS_PER_TRIP; d++) {
+                    searchIndex.putDestination(++destinationId, tripId, words(random, 2), words(random, 10),
+                            words(random, 6), random.nextInt(500) + " " + words(random, 2));
+                }
+            }
+        }
+        userId = users / 2 + 1;
+    }
+    
+    @Benchmark
+    public List<SearchResult> singleTerm() {
+        return searchIndex.search(userId, "ramen", 50);
+    }
+    
+    @Benchmark
+    public List<SearchResult> twoTerms() {
+        return searchIndex.search(userId, "ramen street", 50);
+    }
+    
+    @Benchmark
+    public List<SearchResult> prefix() {
+        return searchIndex.search(userId, "museum ca", 50);
+    }
+    
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+}
\ No newline at end of file
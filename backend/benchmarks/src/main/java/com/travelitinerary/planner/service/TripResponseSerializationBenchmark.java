@@ -0,0 +1,48 @@
+package com.travelitinerary.planner.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.travelitinerary.planner.dto.TripResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a trip with its destinations, using an ObjectMapper configured
+ * the way Spring Boot configures the one behind the controllers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TripResponseSerializationBenchmark {
+    
+    @Param({"10", "100", "1000"})
+    private int destinations;
+    
+    private ObjectMapper objectMapper;
+    
+    private ObjectWriter tripWriter;
+    
+    private TripResponse response;
+    
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        tripWriter = objectMapper.writerFor(TripResponse.class);
+        response = new TripService().convertToTripResponseWithDestinations(BenchmarkFixtures.trip(destinations));
+    }
+    
+    @Benchmark
+    public byte[] objectMapper() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+    
+    @Benchmark
+    public byte[] typedWriter() throws Exception {
+        return tripWriter.writeValueAsBytes(response);
+    }
+}
\ No newline at end of file
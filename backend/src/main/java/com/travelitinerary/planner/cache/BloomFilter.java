@@ -0,0 +1,90 @@
+package com.travelitinerary.planner.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free Bloom filter over strings. {@link #mightContain} never misses a key that was added, and answers
+ * {@code true} for a key that was not added with roughly the configured false-positive rate as long as no more
+ * than the expected number of keys are added. Keys cannot be removed; rebuild a fresh filter instead.
+ */
+public class BloomFilter {
+    
+    private final AtomicLongArray words;
+    private final long numBits;
+    private final int numHashes;
+    private final LongAdder insertions = new LongAdder();
+    
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("expectedInsertions must be positive");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1");
+        }
+        // m = -n ln p / (ln 2)^2 bits and k = m/n ln 2 probes minimize the false-positive rate for n keys
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.max(1, (bits + 63) / 64);
+        this.words = new AtomicLongArray(wordCount);
+        this.numBits = wordCount * 64L;
+        this.numHashes = Math.max(1, (int) Math.round((double) numBits / expectedInsertions * Math.log(2)));
+    }
+    
+    public void add(String key) {
+        long hash = hash(key);
+        long h1 = mix(hash);
+        long h2 = mix(hash ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < numHashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, numBits);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(word);
+            while ((current & mask) == 0 && !words.weakCompareAndSetVolatile(word, current, current | mask)) {
+                current = words.get(word);
+            }
+        }
+        insertions.increment();
+    }
+    
+    public boolean mightContain(String key) {
+        long hash = hash(key);
+        long h1 = mix(hash);
+        long h2 = mix(hash ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < numHashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, numBits);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    public long getInsertionCount() {
+        return insertions.sum();
+    }
+    
+    public long getBitCount() {
+        return numBits;
+    }
+    
+    public int getHashCount() {
+        return numHashes;
+    }
+    
+    // 64-bit FNV-1a over the UTF-16 code units
+    private static long hash(String key) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return hash;
+    }
+    
+    // Murmur3 finalizer, spreads FNV's weak low bits across the whole word
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB93FE53B9A63L;
+        return z ^ (z >>> 33);
+    }
+}
\ No newline at end of file
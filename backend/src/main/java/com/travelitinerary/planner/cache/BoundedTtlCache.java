@@ -0,0 +1,142 @@
+package com.travelitinerary.planner.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Small in-process LRU cache with a per-entry time-to-live.
+ * Entries are evicted when the cache exceeds its maximum size (least recently used first)
+ * or lazily when an expired entry is read.
+ */
+public class BoundedTtlCache<K, V> {
+    
+    private final int maxSize;
+    private final long defaultTtlNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<K, Entry<V>> entries;
+    
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    
+    public BoundedTtlCache(int maxSize, Duration defaultTtl) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.maxSize = maxSize;
+        this.defaultTtlNanos = defaultTtl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > BoundedTtlCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+    
+    public V get(K key) {
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            Entry<V> entry = entries.get(key);
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            if (entry.expiresAt - now <= 0) {
+                entries.remove(key);
+                evictions.increment();
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V value = get(key);
+        if (value == null) {
+            value = loader.apply(key);
+            if (value != null) {
+                put(key, value);
+            }
+        }
+        return value;
+    }
+    
+    public void put(K key, V value) {
+        put(key, value, defaultTtlNanos);
+    }
+    
+    public void put(K key, V value, Duration ttl) {
+        put(key, value, Math.min(ttl.toNanos(), defaultTtlNanos));
+    }
+    
+    private void put(K key, V value, long ttlNanos) {
+        if (ttlNanos <= 0) {
+            return;
+        }
+        long expiresAt = System.nanoTime() + ttlNanos;
+        lock.lock();
+        try {
+            entries.put(key, new Entry<>(value, expiresAt));
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    public void evict(K key) {
+        lock.lock();
+        try {
+            entries.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    public int getMaxSize() {
+        return maxSize;
+    }
+    
+    public long getHitCount() {
+        return hits.sum();
+    }
+    
+    public long getMissCount() {
+        return misses.sum();
+    }
+    
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+    
+    private record Entry<V>(V value, long expiresAt) {}
+}
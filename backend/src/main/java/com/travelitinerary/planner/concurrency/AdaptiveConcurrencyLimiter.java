@@ -0,0 +1,257 @@
+package com.travelitinerary.planner.concurrency;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Request admission limit that follows observed latency, in the style of a gradient limiter. Each sample
+ * window compares the window's mean latency with a slow-moving baseline: while they stay within
+ * {@code tolerance} the limit grows by about its square root, and as latency climbs the limit shrinks in
+ * proportion (by at most half per window). Growth is skipped while less than half the limit is in use.
+ * <p>
+ * Capacity is shared fairly between clients: when the node is full, a client already holding its share
+ * ({@code limit / active clients}) is rejected at once, while others may wait briefly for a slot. Free slots
+ * go to waiting clients before anyone over their share.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+    
+    // Weight of each window in the baseline latency, roughly a 100-window moving average
+    private static final double BASELINE_WEIGHT = 2.0 / 101;
+    
+    private final ReentrantLock lock = new ReentrantLock();
+    
+    private final Condition released = lock.newCondition();
+    
+    private final Map<Object, int[]> inFlightByClient = new HashMap<>();
+    
+    private final int minLimit;
+    
+    private final int maxLimit;
+    
+    private final double tolerance;
+    
+    private final double smoothing;
+    
+    private final long windowNanos;
+    
+    private final long maxQueueWaitNanos;
+    
+    private final int maxQueued;
+    
+    private final Timer queueWait;
+    
+    private final LongAdder rejectedFairShare = new LongAdder();
+    
+    private final LongAdder rejectedQueueFull = new LongAdder();
+    
+    private final LongAdder rejectedTimeout = new LongAdder();
+    
+    private double estimatedLimit;
+    
+    private volatile int limit;
+    
+    private volatile int inFlight;
+    
+    private volatile int waiting;
+    
+    private long windowStart = System.nanoTime();
+    
+    private long windowLatencySum;
+    
+    private int windowSamples;
+    
+    private int windowMaxInFlight;
+    
+    private double baselineLatency;
+    
+    public AdaptiveConcurrencyLimiter(@Value("${app.admission.initial-limit:20}") int initialLimit,
+                                      @Value("${app.admission.min-limit:5}") int minLimit,
+                                      @Value("${app.admission.max-limit:200}") int maxLimit,
+                                      @Value("${app.admission.tolerance:1.5}") double tolerance,
+                                      @Value("${app.admission.smoothing:0.2}") double smoothing,
+                                      @Value("${app.admission.sample-window:100ms}") Duration sampleWindow,
+                                      @Value("${app.admission.max-queue-wait:50ms}") Duration maxQueueWait,
+                                      @Value("${app.admission.max-queued:100}") int maxQueued,
+                                      MeterRegistry registry) {
+        if (minLimit <= 0 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("app.admission limits must satisfy 0 < min-limit <= max-limit");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.windowNanos = sampleWindow.toNanos();
+        this.maxQueueWaitNanos = maxQueueWait.toNanos();
+        this.maxQueued = maxQueued;
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+        
+        this.queueWait = Timer.builder("admission.queue.wait")
+                .description("Time requests waited for an admission slot")
+                .register(registry);
+        Gauge.builder("admission.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive in-flight request limit")
+                .register(registry);
+        Gauge.builder("admission.inflight", this, AdaptiveConcurrencyLimiter::getInFlight)
+                .register(registry);
+        Gauge.builder("admission.queued", this, AdaptiveConcurrencyLimiter::getWaiting)
+                .register(registry);
+        registerRejected(registry, "fair-share", rejectedFairShare);
+        registerRejected(registry, "queue-full", rejectedQueueFull);
+        registerRejected(registry, "timeout", rejectedTimeout);
+    }
+    
+    /**
+     * Admits a request for the client, waiting up to {@code max-queue-wait} when the node is full.
+     * Returns null when the request should be shed; otherwise the permit must be passed to {@link #release}.
+     */
+    public Permit tryAcquire(Object client) {
+        long start = System.nanoTime();
+        lock.lock();
+        try {
+            if (inFlight >= limit) {
+                if (clientInFlight(client) >= fairShare(client)) {
+                    rejectedFairShare.increment();
+                    return null;
+                }
+                if (waiting >= maxQueued) {
+                    rejectedQueueFull.increment();
+                    return null;
+                }
+                if (!awaitSlot()) {
+                    rejectedTimeout.increment();
+                    return null;
+                }
+            } else if (waiting > 0 && clientInFlight(client) >= fairShare(client)) {
+                // Leave the free slot to a queued client that is still under its share
+                rejectedFairShare.increment();
+                return null;
+            }
+            
+            inFlight++;
+            windowMaxInFlight = Math.max(windowMaxInFlight, inFlight);
+            inFlightByClient.computeIfAbsent(client, c -> new int[1])[0]++;
+        } finally {
+            lock.unlock();
+        }
+        
+        long admitted = System.nanoTime();
+        queueWait.record(admitted - start, TimeUnit.NANOSECONDS);
+        return new Permit(client, admitted);
+    }
+    
+    public void release(Permit permit) {
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            inFlight--;
+            int[] held = inFlightByClient.get(permit.client());
+            if (held != null && --held[0] <= 0) {
+                inFlightByClient.remove(permit.client());
+            }
+            sample(now - permit.admittedAt(), now);
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    public int getLimit() {
+        return limit;
+    }
+    
+    public int getInFlight() {
+        return inFlight;
+    }
+    
+    public int getWaiting() {
+        return waiting;
+    }
+    
+    private boolean awaitSlot() {
+        waiting++;
+        try {
+            long remaining = maxQueueWaitNanos;
+            while (inFlight >= limit) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = released.awaitNanos(remaining);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            waiting--;
+        }
+    }
+    
+    private int clientInFlight(Object client) {
+        int[] held = inFlightByClient.get(client);
+        return held == null ? 0 : held[0];
+    }
+    
+    // Equal split of the limit between the clients with requests in flight, counting this one
+    private int fairShare(Object client) {
+        int clients = inFlightByClient.size() + (inFlightByClient.containsKey(client) ? 0 : 1);
+        return Math.max(1, limit / clients);
+    }
+    
+    private void sample(long latencyNanos, long now) {
+        windowLatencySum += latencyNanos;
+        windowSamples++;
+        if (now - windowStart < windowNanos) {
+            return;
+        }
+        
+        double windowLatency = (double) windowLatencySum / windowSamples;
+        boolean appLimited = windowMaxInFlight < estimatedLimit / 2;
+        windowStart = now;
+        windowLatencySum = 0;
+        windowSamples = 0;
+        windowMaxInFlight = inFlight;
+        
+        if (baselineLatency == 0) {
+            baselineLatency = windowLatency;
+        } else {
+            baselineLatency += (windowLatency - baselineLatency) * BASELINE_WEIGHT;
+        }
+        // After a long slow spell the baseline has drifted up; let it fall back quickly once latency recovers
+        if (baselineLatency / windowLatency > 2) {
+            baselineLatency *= 0.95;
+        }
+        
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * baselineLatency / windowLatency));
+        double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        if (target > estimatedLimit && appLimited) {
+            return;
+        }
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit,
+                estimatedLimit * (1 - smoothing) + target * smoothing));
+        limit = (int) estimatedLimit;
+    }
+    
+    private void registerRejected(MeterRegistry registry, String reason, LongAdder counter) {
+        FunctionCounter.builder("admission.rejected", counter, LongAdder::sum)
+                .description("Requests shed by admission control")
+                .tag("reason", reason)
+                .register(registry);
+    }
+    
+    public record Permit(Object client, long admittedAt) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,124 @@
+package com.travelitinerary.planner.concurrency;
+
+import com.travelitinerary.planner.security.UserPrincipal;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Admission control for API requests, placed after {@code JwtAuthenticationFilter} so capacity can be shared
+ * per user. Requests the {@link AdaptiveConcurrencyLimiter} sheds get 503 with Retry-After before reaching
+ * a controller or the connection pool. Authentication, actuator and API docs are not limited; sign-in
+ * has its own bound in the password hashing pool.
+ * <p>
+ * Streaming responses (export, expense list, calendar feeds) do their work after the filter chain has
+ * returned, so their permit is held until the async request completes, errors or times out.
+ */
+@Component
+public class AdmissionControlFilter extends OncePerRequestFilter {
+    
+    private static final String[] EXCLUDED_PREFIXES = {"/auth/", "/actuator/", "/swagger-ui", "/api-docs"};
+    
+    @Autowired
+    private AdaptiveConcurrencyLimiter limiter;
+    
+    @Value("${app.admission.enabled:true}")
+    private boolean enabled;
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled) {
+            return true;
+        }
+        String path = request.getServletPath();
+        for (String prefix : EXCLUDED_PREFIXES) {
+            if (path.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire(clientKey(request));
+        if (permit == null) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "The server is busy, please retry shortly");
+            return;
+        }
+        boolean asyncStarted = false;
+        try {
+            filterChain.doFilter(request, response);
+            asyncStarted = request.isAsyncStarted();
+        } finally {
+            if (asyncStarted) {
+                request.getAsyncContext().addListener(new ReleaseOnCompletion(permit));
+            } else {
+                limiter.release(permit);
+            }
+        }
+    }
+    
+    // Signed-in users by id; anonymous requests (the public explore feed) by address
+    private Object clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getId();
+        }
+        return "address:" + request.getRemoteAddr();
+    }
+    
+    // onError and onTimeout are followed by onComplete; the permit is released on whichever comes first
+    private class ReleaseOnCompletion implements AsyncListener {
+        
+        private final AdaptiveConcurrencyLimiter.Permit permit;
+        
+        private final AtomicBoolean released = new AtomicBoolean();
+        
+        ReleaseOnCompletion(AdaptiveConcurrencyLimiter.Permit permit) {
+            this.permit = permit;
+        }
+        
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+        
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+        
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+        
+        // A new async cycle drops the registered listeners, so stay registered for it
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+        
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                limiter.release(permit);
+            }
+        }
+    }
+}
\ No newline at end of file
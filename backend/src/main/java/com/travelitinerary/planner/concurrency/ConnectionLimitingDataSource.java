@@ -0,0 +1,30 @@
+package com.travelitinerary.planner.concurrency;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Hands out the pool's connections only under a {@link DatabaseConcurrencyLimiter} permit.
+ */
+public class ConnectionLimitingDataSource extends DelegatingDataSource {
+    
+    private final DatabaseConcurrencyLimiter limiter;
+    
+    public ConnectionLimitingDataSource(DataSource targetDataSource, DatabaseConcurrencyLimiter limiter) {
+        super(targetDataSource);
+        this.limiter = limiter;
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        return limiter.getConnection(() -> obtainTargetDataSource().getConnection());
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return limiter.getConnection(() -> obtainTargetDataSource().getConnection(username, password));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.travelitinerary.planner.concurrency;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's {@link DataSource} in a {@link ConnectionLimitingDataSource}, so every connection
+ * (JPA transactions, JdbcTemplate and Flyway alike) is taken under the {@link DatabaseConcurrencyLimiter}.
+ */
+@Component
+public class ConnectionLimitingPostProcessor implements BeanPostProcessor {
+    
+    // Resolved lazily: post-processors are created before ordinary beans
+    private final ObjectProvider<DatabaseConcurrencyLimiter> limiter;
+    
+    public ConnectionLimitingPostProcessor(ObjectProvider<DatabaseConcurrencyLimiter> limiter) {
+        this.limiter = limiter;
+    }
+    
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionLimitingDataSource)) {
+            DatabaseConcurrencyLimiter databaseLimiter = limiter.getObject();
+            if (databaseLimiter.isEnabled()) {
+                return new ConnectionLimitingDataSource(dataSource, databaseLimiter);
+            }
+        }
+        return bean;
+    }
+}
\ No newline at end of file
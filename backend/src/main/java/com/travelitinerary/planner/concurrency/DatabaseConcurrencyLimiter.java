@@ -0,0 +1,187 @@
+package com.travelitinerary.planner.concurrency;
+
+import com.travelitinerary.planner.exception.DatabaseBusyException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounds the number of threads holding a database connection at once. With virtual threads every request gets
+ * its own thread, so without a bound they would all queue on the connection pool; callers that cannot get a
+ * permit within the acquire timeout fail fast with {@link DatabaseBusyException}.
+ * <p>
+ * The permit is taken when a connection is obtained and returned when it is closed, so it covers JPA, JdbcTemplate
+ * and EntityManager work alike and is held once for a whole transaction. Work already inside a transaction is
+ * therefore never refused part-way through; only opening a transaction (or a non-transactional statement) can be.
+ */
+@Component
+public class DatabaseConcurrencyLimiter implements MeterBinder {
+    
+    // Connections opened by this thread while it holds a permit, such as a REQUIRES_NEW transaction, reuse that permit
+    private static final ThreadLocal<int[]> HELD = ThreadLocal.withInitial(() -> new int[1]);
+    
+    private final boolean enabled;
+    
+    private final int maxConcurrent;
+    
+    private final long acquireTimeoutNanos;
+    
+    private final Semaphore permits;
+    
+    private final LongAdder rejected = new LongAdder();
+    
+    public DatabaseConcurrencyLimiter(@Value("${app.db-limiter.enabled:true}") boolean enabled,
+                                      @Value("${app.db-limiter.max-concurrent:10}") int maxConcurrent,
+                                      @Value("${app.db-limiter.acquire-timeout:100ms}") Duration acquireTimeout) {
+        if (maxConcurrent <= 0) {
+            throw new IllegalArgumentException("app.db-limiter.max-concurrent must be positive");
+        }
+        this.enabled = enabled;
+        this.maxConcurrent = maxConcurrent;
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * Opens a connection under a permit. The permit goes back when the returned connection is closed; nested
+     * connections of a thread that already holds one are counted against it instead of waiting on themselves.
+     */
+    public Connection getConnection(ConnectionSource source) throws SQLException {
+        int[] held = HELD.get();
+        if (held[0] > 0) {
+            return track(source.getConnection(), held, false);
+        }
+        
+        if (!acquire()) {
+            rejected.increment();
+            throw new DatabaseBusyException("The database is busy, please retry shortly");
+        }
+        try {
+            return track(source.getConnection(), held, true);
+        } catch (SQLException | RuntimeException | Error e) {
+            permits.release();
+            throw e;
+        }
+    }
+    
+    private boolean acquire() {
+        try {
+            return permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+    
+    // The count belongs to the opening thread, even if a connection is closed from another one
+    private Connection track(Connection connection, int[] held, boolean ownsPermit) {
+        synchronized (held) {
+            held[0]++;
+        }
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+                new PermitReleasingHandler(connection, held, ownsPermit));
+    }
+    
+    public int getActiveCount() {
+        return maxConcurrent - permits.availablePermits();
+    }
+    
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("db.limiter.active", this, DatabaseConcurrencyLimiter::getActiveCount)
+                .description("Threads currently holding a database connection permit")
+                .register(registry);
+        Gauge.builder("db.limiter.queued", permits, Semaphore::getQueueLength)
+                .description("Threads waiting for a database connection permit")
+                .register(registry);
+        FunctionCounter.builder("db.limiter.rejected", this, DatabaseConcurrencyLimiter::getRejectedCount)
+                .description("Connections refused because no permit became free in time")
+                .register(registry);
+    }
+    
+    @FunctionalInterface
+    public interface ConnectionSource {
+        Connection getConnection() throws SQLException;
+    }
+    
+    private class PermitReleasingHandler implements InvocationHandler {
+        
+        private final Connection target;
+        
+        private final int[] held;
+        
+        private final boolean ownsPermit;
+        
+        private boolean closed;
+        
+        PermitReleasingHandler(Connection target, int[] held, boolean ownsPermit) {
+            this.target = target;
+            this.held = held;
+            this.ownsPermit = ownsPermit;
+        }
+        
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    try {
+                        target.close();
+                    } finally {
+                        release();
+                    }
+                    return null;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "unwrap":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    break;
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+        
+        private synchronized void release() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            synchronized (held) {
+                held[0]--;
+            }
+            if (ownsPermit) {
+                permits.release();
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,103 @@
+package com.travelitinerary.planner.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Streams {@code jdk.VirtualThreadPinned} JFR events in-process while virtual threads are enabled. Each pin is
+ * counted as {@code virtual.threads.pinned}, tagged by whether it happened inside the JDBC driver; the stack is
+ * logged the first time a given call site pins.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+    
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    
+    private static final int LOGGED_FRAMES = 12;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${app.virtual-threads.pinned-threshold:20ms}")
+    private Duration threshold;
+    
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+    
+    private RecordingStream stream;
+    
+    private Counter jdbcPins;
+    
+    private Counter otherPins;
+    
+    @PostConstruct
+    public void start() {
+        jdbcPins = Counter.builder("virtual.threads.pinned")
+                .description("Virtual threads pinned to their carrier longer than the threshold")
+                .tag("location", "jdbc")
+                .register(meterRegistry);
+        otherPins = Counter.builder("virtual.threads.pinned")
+                .description("Virtual threads pinned to their carrier longer than the threshold")
+                .tag("location", "other")
+                .register(meterRegistry);
+        
+        stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned").withThreshold(threshold).withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", this::onPinned);
+        stream.startAsync();
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+    
+    private void onPinned(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<RecordedFrame> frames = stackTrace != null ? stackTrace.getFrames() : List.of();
+        boolean inJdbc = frames.stream().anyMatch(VirtualThreadPinningMonitor::isJdbcFrame);
+        (inJdbc ? jdbcPins : otherPins).increment();
+        
+        String site = frames.stream()
+                .filter(frame -> frame.isJavaFrame() && !frame.getMethod().getType().getName().startsWith("java."))
+                .findFirst()
+                .map(VirtualThreadPinningMonitor::describe)
+                .orElse("unknown");
+        if (reportedSites.add(site)) {
+            StringBuilder message = new StringBuilder();
+            message.append("Virtual thread pinned for ").append(event.getDuration().toMillis()).append(" ms at ")
+                    .append(site).append(inJdbc ? " (inside the JDBC driver)" : "");
+            frames.stream().limit(LOGGED_FRAMES).forEach(frame -> message.append("\n\tat ").append(describe(frame)));
+            logger.warn(message.toString());
+        }
+    }
+    
+    private static boolean isJdbcFrame(RecordedFrame frame) {
+        String type = frame.getMethod().getType().getName();
+        return type.startsWith("com.mysql.") || type.startsWith("com.zaxxer.hikari.") || type.startsWith("java.sql.");
+    }
+    
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.travelitinerary.planner.config;
+
+import com.travelitinerary.planner.metrics.RequestQueryStats;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class HibernateMetricsConfig {
+    
+    @Bean
+    public HibernatePropertiesCustomizer requestQueryStatsCustomizer() {
+        RequestQueryStats stats = new RequestQueryStats();
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, stats);
+            properties.put(AvailableSettings.INTERCEPTOR, stats);
+        };
+    }
+}
\ No newline at end of file
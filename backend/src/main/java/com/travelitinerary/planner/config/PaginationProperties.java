@@ -0,0 +1,29 @@
+package com.travelitinerary.planner.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PaginationProperties {
+    
+    @Value("${app.pagination.default-size:50}")
+    private int defaultSize;
+    
+    @Value("${app.pagination.max-size:200}")
+    private int maxSize;
+    
+    public int resolvePageSize(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return Math.min(defaultSize, maxSize);
+        }
+        return Math.min(requested, maxSize);
+    }
+    
+    public int getDefaultSize() {
+        return defaultSize;
+    }
+    
+    public int getMaxSize() {
+        return maxSize;
+    }
+}
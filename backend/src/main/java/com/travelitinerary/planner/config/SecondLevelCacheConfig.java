@@ -0,0 +1,147 @@
+package com.travelitinerary.planner.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.travelitinerary.planner.model.Destination;
+import com.travelitinerary.planner.model.Trip;
+import com.travelitinerary.planner.model.User;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate second-level cache backed by bounded Caffeine caches through JCache.
+ * Each cached entity or collection can be switched off with {@code app.cache.entities.<name>=false}; the
+ * switches are applied as {@code hibernate.classcache.*} / {@code hibernate.collectioncache.*} settings so
+ * the entities carry no cache annotations.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+    
+    private static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+    
+    // Switch name -> region (entity name or collection role)
+    private static final Map<String, String> ENTITY_REGIONS = new LinkedHashMap<>();
+    
+    private static final Map<String, String> COLLECTION_REGIONS = new LinkedHashMap<>();
+    
+    static {
+        ENTITY_REGIONS.put("user", User.class.getName());
+        ENTITY_REGIONS.put("trip", Trip.class.getName());
+        ENTITY_REGIONS.put("destination", Destination.class.getName());
+        COLLECTION_REGIONS.put("trip-destinations", Trip.class.getName() + ".destinations");
+    }
+    
+    @Value("${spring.jpa.properties.hibernate.cache.use_second_level_cache:false}")
+    private boolean secondLevelCacheEnabled;
+    
+    @Value("${spring.jpa.properties.hibernate.cache.use_query_cache:false}")
+    private boolean queryCacheEnabled;
+    
+    @Value("${app.cache.max-size:10000}")
+    private long maxSize;
+    
+    @Value("${app.cache.ttl:10m}")
+    private Duration ttl;
+    
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(Environment environment) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+        for (String region : enabledRegions(environment)) {
+            cacheManager.createCache(region, regionConfiguration(maxSize, ttl));
+        }
+        if (queryCacheEnabled) {
+            cacheManager.createCache(QUERY_RESULTS_REGION, regionConfiguration(maxSize, ttl));
+            // Holds one timestamp per table and must never lose entries, or cached queries could outlive their data
+            cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, regionConfiguration(-1, null));
+        }
+        return cacheManager;
+    }
+    
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager,
+                                                                    Environment environment) {
+        return properties -> {
+            if (!secondLevelCacheEnabled) {
+                return;
+            }
+            properties.put("hibernate.javax.cache.cache_manager", hibernateCacheManager);
+            properties.put("hibernate.javax.cache.missing_cache_strategy", "fail");
+            ENTITY_REGIONS.forEach((name, region) -> {
+                if (isEnabled(environment, name)) {
+                    properties.put("hibernate.classcache." + region, "read-write");
+                }
+            });
+            COLLECTION_REGIONS.forEach((name, region) -> {
+                if (isEnabled(environment, name)) {
+                    properties.put("hibernate.collectioncache." + region, "read-write");
+                }
+            });
+        };
+    }
+    
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(CacheManager hibernateCacheManager) {
+        return registry -> {
+            for (String name : hibernateCacheManager.getCacheNames()) {
+                Cache<Object, Object> cache = hibernateCacheManager.getCache(name);
+                CaffeineCacheMetrics.monitor(registry,
+                        cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class), "hibernate." + name);
+            }
+        };
+    }
+    
+    private List<String> enabledRegions(Environment environment) {
+        List<String> regions = new ArrayList<>();
+        if (!secondLevelCacheEnabled) {
+            return regions;
+        }
+        ENTITY_REGIONS.forEach((name, region) -> {
+            if (isEnabled(environment, name)) {
+                regions.add(region);
+            }
+        });
+        COLLECTION_REGIONS.forEach((name, region) -> {
+            if (isEnabled(environment, name)) {
+                regions.add(region);
+            }
+        });
+        return regions;
+    }
+    
+    private static boolean isEnabled(Environment environment, String name) {
+        return environment.getProperty("app.cache.entities." + name, Boolean.class, true);
+    }
+    
+    private static CaffeineConfiguration<Object, Object> regionConfiguration(long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // Hibernate's cache entries are immutable, so copying them on every access buys nothing
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        configuration.setNativeStatisticsEnabled(true);
+        if (maxSize > 0) {
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+        }
+        if (ttl != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        return configuration;
+    }
+}
\ No newline at end of file
@@ -1,7 +1,9 @@
 package com.travelitinerary.planner.controller;
 
 import com.travelitinerary.planner.dto.AuthResponse;
+import com.travelitinerary.planner.dto.ChangePasswordRequest;
 import com.travelitinerary.planner.dto.LoginRequest;
+import com.travelitinerary.planner.dto.RefreshTokenRequest;
 import com.travelitinerary.planner.dto.SignupRequest;
 import com.travelitinerary.planner.dto.UserDto;
 import com.travelitinerary.planner.service.UserService;
@@ -10,6 +12,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
@@ -30,7 +33,8 @@ public class AuthController {
         String token = userService.authenticateUser(loginRequest.getEmail(), loginRequest.getPassword());
         UserDto user = userService.getUserByEmail(loginRequest.getEmail());
         
-        AuthResponse response = new AuthResponse("Login successful", token, user);
+        AuthResponse response = new AuthResponse("Login successful", token, userService.issueRefreshToken(user),
+                userService.getAccessTokenValiditySeconds(), user);
         return ResponseEntity.ok(response);
     }
     
@@ -43,9 +47,49 @@ public class AuthController {
                 signupRequest.getPassword()
         );
         
-        String token = userService.authenticateUser(signupRequest.getEmail(), signupRequest.getPassword());
+        // The password was hashed a moment ago; verifying it again would only repeat the BCrypt work
+        String token = userService.issueToken(user);
         
-        AuthResponse response = new AuthResponse("Account created successfully", token, user);
+        AuthResponse response = new AuthResponse("Account created successfully", token, userService.issueRefreshToken(user),
+                userService.getAccessTokenValiditySeconds(), user);
+        return ResponseEntity.ok(response);
+    }
+    
+    @PostMapping("/refresh")
+    @Operation(summary = "Refresh tokens", description = "Exchange a refresh token for a new access and refresh token pair")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshTokenRequest refreshTokenRequest) {
+        UserDto user = userService.redeemRefreshToken(refreshTokenRequest.getRefreshToken());
+        
+        AuthResponse response = new AuthResponse("Token refreshed", userService.issueToken(user),
+                userService.issueRefreshToken(user), userService.getAccessTokenValiditySeconds(), user);
+        return ResponseEntity.ok(response);
+    }
+    
+    @PostMapping("/logout")
+    @Operation(summary = "User logout", description = "Revoke the bearer access token and, if given, the refresh token")
+    public ResponseEntity<Map<String, Object>> logout(@RequestHeader(value = "Authorization", required = false) String authorization,
+                                                      @RequestBody(required = false) RefreshTokenRequest refreshTokenRequest) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ") ? authorization.substring(7) : null;
+        userService.logout(accessToken, refreshTokenRequest != null ? refreshTokenRequest.getRefreshToken() : null);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", "Logged out successfully");
+        return ResponseEntity.ok(response);
+    }
+    
+    @PutMapping("/password")
+    @Operation(summary = "Change password", description = "Change the password and revoke every token issued before")
+    public ResponseEntity<AuthResponse> changePassword(@Valid @RequestBody ChangePasswordRequest changePasswordRequest,
+                                                       Authentication authentication) {
+        UserDto user = userService.changePassword(
+                authentication.getName(),
+                changePasswordRequest.getCurrentPassword(),
+                changePasswordRequest.getNewPassword()
+        );
+        
+        // The old tokens are revoked, so the caller continues with a fresh pair
+        AuthResponse response = new AuthResponse("Password changed successfully", userService.issueToken(user),
+                userService.issueRefreshToken(user), userService.getAccessTokenValiditySeconds(), user);
         return ResponseEntity.ok(response);
     }
     
@@ -0,0 +1,134 @@
+package com.travelitinerary.planner.controller;
+
+import com.travelitinerary.planner.exception.InvalidTokenException;
+import com.travelitinerary.planner.service.CalendarFeedService;
+import com.travelitinerary.planner.service.UserService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@Tag(name = "Calendar", description = "iCalendar feed APIs")
+@CrossOrigin(origins = "*")
+public class CalendarController {
+    
+    private static final MediaType TEXT_CALENDAR = new MediaType("text", "calendar", StandardCharsets.UTF_8);
+    
+    @Autowired
+    private CalendarFeedService calendarFeedService;
+    
+    @Autowired
+    private UserService userService;
+    
+    @GetMapping("/trips/{tripId}/calendar.ics")
+    @Operation(summary = "Get trip calendar", description = "iCalendar feed of a trip, authorized by its feed token or a bearer token")
+    public ResponseEntity<StreamingResponseBody> getTripCalendar(@PathVariable Long tripId,
+                                                                 @RequestParam(required = false) String token,
+                                                                 Authentication authentication,
+                                                                 WebRequest webRequest) {
+        Long userId = resolveUserId(token, tripId, authentication);
+        // Answer If-None-Match from the trip's version before loading anything
+        String eTag = calendarFeedService.getTripFeedETag(tripId, userId);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        
+        StreamingResponseBody body = outputStream -> calendarFeedService.writeTripFeed(tripId, userId, outputStream);
+        return feedResponse(eTag, body);
+    }
+    
+    @GetMapping("/calendar.ics")
+    @Operation(summary = "Get user calendar", description = "iCalendar feed of all of the user's trips, authorized by a feed token or a bearer token")
+    public ResponseEntity<StreamingResponseBody> getUserCalendar(@RequestParam(required = false) String token,
+                                                                 Authentication authentication,
+                                                                 WebRequest webRequest) {
+        Long userId = resolveUserId(token, null, authentication);
+        String eTag = calendarFeedService.getUserFeedETag(userId);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        
+        StreamingResponseBody body = outputStream -> calendarFeedService.writeUserFeed(userId, outputStream);
+        return feedResponse(eTag, body);
+    }
+    
+    @GetMapping("/trips/{tripId}/calendar/link")
+    @Operation(summary = "Get trip calendar link", description = "Get a subscribable feed URL for a trip")
+    public ResponseEntity<Map<String, Object>> getTripCalendarLink(@PathVariable Long tripId, Authentication authentication) {
+        String token = calendarFeedService.createFeedToken(authentication.getName(), tripId);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("url", ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/trips/{tripId}/calendar.ics")
+                .queryParam("token", token)
+                .buildAndExpand(tripId)
+                .toUriString());
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/calendar/link")
+    @Operation(summary = "Get user calendar link", description = "Get a subscribable feed URL covering all of the user's trips")
+    public ResponseEntity<Map<String, Object>> getUserCalendarLink(Authentication authentication) {
+        String token = calendarFeedService.createFeedToken(authentication.getName(), null);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("url", ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/calendar.ics")
+                .queryParam("token", token)
+                .toUriString());
+        return ResponseEntity.ok(response);
+    }
+    
+    @DeleteMapping("/trips/{tripId}/calendar/link")
+    @Operation(summary = "Revoke trip calendar links", description = "Invalidate every feed URL handed out so far for a trip")
+    public ResponseEntity<Map<String, Object>> revokeTripCalendarLinks(@PathVariable Long tripId, Authentication authentication) {
+        calendarFeedService.revokeFeedLinks(authentication.getName(), tripId);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", "Calendar links revoked successfully");
+        return ResponseEntity.ok(response);
+    }
+    
+    @DeleteMapping("/calendar/link")
+    @Operation(summary = "Revoke user calendar links", description = "Invalidate every all-trips feed URL handed out so far")
+    public ResponseEntity<Map<String, Object>> revokeUserCalendarLinks(Authentication authentication) {
+        calendarFeedService.revokeFeedLinks(authentication.getName(), null);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", "Calendar links revoked successfully");
+        return ResponseEntity.ok(response);
+    }
+    
+    // Calendar apps cannot send the bearer JWT, so the feed token in the URL is accepted instead
+    private Long resolveUserId(String token, Long tripId, Authentication authentication) {
+        if (token != null) {
+            return calendarFeedService.verifyFeedToken(token, tripId);
+        }
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            throw new InvalidTokenException("A calendar token or bearer token is required");
+        }
+        return userService.getUserIdByEmail(authentication.getName());
+    }
+    
+    // no-cache lets clients keep the body but revalidate it with If-None-Match on every poll
+    private ResponseEntity<StreamingResponseBody> feedResponse(String eTag, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .contentType(TEXT_CALENDAR)
+                .body(body);
+    }
+}
\ No newline at end of file
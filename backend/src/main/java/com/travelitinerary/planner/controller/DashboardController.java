@@ -1,9 +1,8 @@
 package com.travelitinerary.planner.controller;
 
 import com.travelitinerary.planner.dto.DashboardStatsResponse;
-import com.travelitinerary.planner.repository.DestinationRepository;
-import com.travelitinerary.planner.repository.TripRepository;
 import com.travelitinerary.planner.service.UserService;
+import com.travelitinerary.planner.service.UserStatsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,7 +10,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -22,34 +20,19 @@ import java.util.Map;
 public class DashboardController {
     
     @Autowired
-    private TripRepository tripRepository;
-    
-    @Autowired
-    private DestinationRepository destinationRepository;
+    private UserService userService;
     
     @Autowired
-    private UserService userService;
+    private UserStatsService userStatsService;
     
     @GetMapping("/stats")
     @Operation(summary = "Get dashboard stats", description = "Get user dashboard statistics")
     public ResponseEntity<Map<String, Object>> getDashboardStats(Authentication authentication) {
         String userEmail = authentication.getName();
-        Long userId = userService.getUserEntityByEmail(userEmail).getId();
-        
-        // Get statistics
-        long totalTrips = tripRepository.countByUserId(userId);
-        long totalDestinations = destinationRepository.countByUserId(userId);
-        long upcomingTrips = tripRepository.countUpcomingTripsByUserId(userId, LocalDate.now());
-        
-        // Mock total expenses (in a real app, you'd have an expenses table)
-        double totalExpenses = 2847.5; // Mock value
+        Long userId = userService.getUserIdByEmail(userEmail);
         
-        DashboardStatsResponse stats = new DashboardStatsResponse(
-                (int) totalTrips,
-                (int) totalDestinations,
-                totalExpenses,
-                (int) upcomingTrips
-        );
+        // Incrementally maintained per-user record, read by primary key
+        DashboardStatsResponse stats = userStatsService.getStats(userId);
         
         Map<String, Object> response = new HashMap<>();
         response.put("stats", stats);
@@ -1,8 +1,12 @@
 package com.travelitinerary.planner.controller;
 
+import com.travelitinerary.planner.dto.CursorPage;
+import com.travelitinerary.planner.dto.DestinationBatchRequest;
+import com.travelitinerary.planner.dto.DestinationOrderRequest;
 import com.travelitinerary.planner.dto.DestinationRequest;
 import com.travelitinerary.planner.dto.DestinationResponse;
 import com.travelitinerary.planner.service.DestinationService;
+import com.travelitinerary.planner.service.TripVersionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -10,6 +14,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.HashMap;
 import java.util.List;
@@ -21,16 +26,35 @@ import java.util.Map;
 @CrossOrigin(origins = "*")
 public class DestinationController {
     
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    
     @Autowired
     private DestinationService destinationService;
     
+    @Autowired
+    private TripVersionService tripVersionService;
+    
     @GetMapping
-    @Operation(summary = "Get trip destinations", description = "Get all destinations for a specific trip")
+    @Operation(summary = "Get trip destinations", description = "Get a page of destinations for a specific trip; " +
+            "the cursor for the next page is returned in the X-Next-Cursor header")
     public ResponseEntity<List<DestinationResponse>> getTripDestinations(@PathVariable Long tripId, 
-                                                                        Authentication authentication) {
+                                                                        @RequestParam(required = false) String cursor,
+                                                                        @RequestParam(required = false) Integer limit,
+                                                                        Authentication authentication,
+                                                                        WebRequest webRequest) {
         String userEmail = authentication.getName();
-        List<DestinationResponse> destinations = destinationService.getTripDestinations(tripId, userEmail);
-        return ResponseEntity.ok(destinations);
+        // Answer If-None-Match from the trip's version before loading anything
+        String eTag = tripVersionService.getDestinationsETag(tripId, userEmail, cursor, limit);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        CursorPage<DestinationResponse> destinations = destinationService.getTripDestinations(tripId, userEmail, cursor, limit);
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(eTag);
+        if (destinations.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, destinations.getNextCursor());
+        }
+        return response.body(destinations.getItems());
     }
     
     @PostMapping
@@ -47,6 +71,36 @@ public class DestinationController {
         return ResponseEntity.ok(response);
     }
     
+    @PostMapping("/batch")
+    @Operation(summary = "Import destinations", description = "Add many destinations to a trip in one request")
+    public ResponseEntity<Map<String, Object>> addDestinations(@PathVariable Long tripId,
+                                                              @Valid @RequestBody DestinationBatchRequest batchRequest,
+                                                              Authentication authentication) {
+        String userEmail = authentication.getName();
+        List<DestinationResponse> destinations = destinationService.createDestinations(
+                tripId, batchRequest.getDestinations(), userEmail);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", destinations.size() + " destinations added successfully");
+        response.put("destinations", destinations);
+        return ResponseEntity.ok(response);
+    }
+    
+    @PatchMapping("/order")
+    @Operation(summary = "Reorder destinations", description = "Apply a list of moves to the trip's destination order in one transaction")
+    public ResponseEntity<Map<String, Object>> reorderDestinations(@PathVariable Long tripId,
+                                                                  @Valid @RequestBody DestinationOrderRequest orderRequest,
+                                                                  Authentication authentication) {
+        String userEmail = authentication.getName();
+        List<DestinationResponse> destinations = destinationService.reorderDestinations(
+                tripId, orderRequest.getMoves(), userEmail);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", "Destinations reordered successfully");
+        response.put("destinations", destinations);
+        return ResponseEntity.ok(response);
+    }
+    
     @PutMapping("/{destinationId}")
     @Operation(summary = "Update destination", description = "Update an existing destination")
     public ResponseEntity<DestinationResponse> updateDestination(@PathVariable Long tripId,
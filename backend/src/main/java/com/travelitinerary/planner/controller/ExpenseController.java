@@ -0,0 +1,89 @@
+package com.travelitinerary.planner.controller;
+
+import com.travelitinerary.planner.dto.ExpenseRequest;
+import com.travelitinerary.planner.dto.ExpenseResponse;
+import com.travelitinerary.planner.dto.ExpenseTotalsResponse;
+import com.travelitinerary.planner.service.ExpenseService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/trips/{tripId}/expenses")
+@Tag(name = "Expenses", description = "Trip expense management APIs")
+@CrossOrigin(origins = "*")
+public class ExpenseController {
+    
+    @Autowired
+    private ExpenseService expenseService;
+    
+    @GetMapping
+    @Operation(summary = "Get trip expenses", description = "Stream all expenses for a specific trip")
+    public ResponseEntity<StreamingResponseBody> getTripExpenses(@PathVariable Long tripId,
+                                                                 Authentication authentication) {
+        String userEmail = authentication.getName();
+        // Checked up front so a missing trip is still a 404 rather than a truncated stream
+        expenseService.verifyTripAccess(tripId, userEmail);
+        
+        StreamingResponseBody body = outputStream -> expenseService.writeTripExpenses(tripId, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+    
+    @GetMapping("/totals")
+    @Operation(summary = "Get expense totals", description = "Get the running expense totals of a trip, overall and per category")
+    public ResponseEntity<ExpenseTotalsResponse> getExpenseTotals(@PathVariable Long tripId,
+                                                                  Authentication authentication) {
+        String userEmail = authentication.getName();
+        ExpenseTotalsResponse totals = expenseService.getExpenseTotals(tripId, userEmail);
+        return ResponseEntity.ok(totals);
+    }
+    
+    @PostMapping
+    @Operation(summary = "Add expense", description = "Add a new expense to a trip")
+    public ResponseEntity<Map<String, Object>> addExpense(@PathVariable Long tripId,
+                                                          @Valid @RequestBody ExpenseRequest expenseRequest,
+                                                          Authentication authentication) {
+        String userEmail = authentication.getName();
+        ExpenseResponse expense = expenseService.createExpense(tripId, expenseRequest, userEmail);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", "Expense added successfully");
+        response.put("expense", expense);
+        return ResponseEntity.ok(response);
+    }
+    
+    @PutMapping("/{expenseId}")
+    @Operation(summary = "Update expense", description = "Update an existing expense")
+    public ResponseEntity<ExpenseResponse> updateExpense(@PathVariable Long tripId,
+                                                         @PathVariable Long expenseId,
+                                                         @Valid @RequestBody ExpenseRequest expenseRequest,
+                                                         Authentication authentication) {
+        String userEmail = authentication.getName();
+        ExpenseResponse expense = expenseService.updateExpense(tripId, expenseId, expenseRequest, userEmail);
+        return ResponseEntity.ok(expense);
+    }
+    
+    @DeleteMapping("/{expenseId}")
+    @Operation(summary = "Delete expense", description = "Delete an expense from a trip")
+    public ResponseEntity<Map<String, String>> deleteExpense(@PathVariable Long tripId,
+                                                             @PathVariable Long expenseId,
+                                                             Authentication authentication) {
+        String userEmail = authentication.getName();
+        expenseService.deleteExpense(tripId, expenseId, userEmail);
+        
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Expense deleted successfully");
+        return ResponseEntity.ok(response);
+    }
+}
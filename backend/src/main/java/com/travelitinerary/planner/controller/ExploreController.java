@@ -0,0 +1,66 @@
+package com.travelitinerary.planner.controller;
+
+import com.travelitinerary.planner.dto.ExploreTripResponse;
+import com.travelitinerary.planner.security.UserPrincipal;
+import com.travelitinerary.planner.service.ExploreService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/explore/trips")
+@Tag(name = "Explore", description = "Public trip feed APIs")
+@CrossOrigin(origins = "*")
+public class ExploreController {
+    
+    @Autowired
+    private ExploreService exploreService;
+    
+    @GetMapping
+    @Operation(summary = "Get trending trips", description = "Get public trips ranked by likes and views")
+    public ResponseEntity<Map<String, Object>> getTrendingTrips(@RequestParam(required = false) Integer limit,
+                                                               Authentication authentication) {
+        List<ExploreTripResponse> trips = exploreService.getTrendingTrips(limit, userEmail(authentication));
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("trips", trips);
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/{id}")
+    @Operation(summary = "Get public trip", description = "Get a public trip with its destinations and count a view")
+    public ResponseEntity<Map<String, Object>> getPublicTrip(@PathVariable Long id, Authentication authentication) {
+        ExploreTripResponse trip = exploreService.getPublicTrip(id, userEmail(authentication));
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("trip", trip);
+        return ResponseEntity.ok(response);
+    }
+    
+    @PutMapping("/{id}/like")
+    @Operation(summary = "Toggle like", description = "Like a public trip, or remove the like if already liked")
+    public ResponseEntity<Map<String, Object>> toggleLike(@PathVariable Long id, Authentication authentication) {
+        boolean liked = exploreService.toggleLike(id, authentication.getName());
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", "Like status updated successfully");
+        response.put("isLiked", liked);
+        response.put("likes", exploreService.getLikes(id));
+        return ResponseEntity.ok(response);
+    }
+    
+    // The feed is readable without signing in; anonymous callers just never see their likes
+    private String userEmail(Authentication authentication) {
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal) {
+            return authentication.getName();
+        }
+        return null;
+    }
+}
\ No newline at end of file
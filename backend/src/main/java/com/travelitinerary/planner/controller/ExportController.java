@@ -0,0 +1,41 @@
+package com.travelitinerary.planner.controller;
+
+import com.travelitinerary.planner.service.ExportService;
+import com.travelitinerary.planner.service.UserService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/export")
+@Tag(name = "Export", description = "Account data export APIs")
+@CrossOrigin(origins = "*")
+public class ExportController {
+    
+    @Autowired
+    private ExportService exportService;
+    
+    @Autowired
+    private UserService userService;
+    
+    @GetMapping
+    @Operation(summary = "Export account", description = "Stream all trips and destinations of the current user as one JSON document")
+    public ResponseEntity<StreamingResponseBody> exportAccount(Authentication authentication) {
+        // Resolved here because the body is written on another thread, without the security context
+        Long userId = userService.getUserIdByEmail(authentication.getName());
+        
+        StreamingResponseBody body = outputStream -> exportService.writeAccount(userId, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("travel-itinerary-export.json").build().toString())
+                .body(body);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.travelitinerary.planner.controller;
+
+import com.travelitinerary.planner.dto.SearchResult;
+import com.travelitinerary.planner.service.SearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/search")
+@Tag(name = "Search", description = "Trip and destination search APIs")
+@CrossOrigin(origins = "*")
+public class SearchController {
+    
+    @Autowired
+    private SearchService searchService;
+    
+    @GetMapping
+    @Operation(summary = "Search trips and destinations", description = "Search the user's trips and destinations by keyword")
+    public ResponseEntity<Map<String, Object>> search(@RequestParam String q,
+                                                      @RequestParam(required = false) Integer limit,
+                                                      Authentication authentication) {
+        List<SearchResult> results = searchService.search(q, limit, authentication.getName());
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("results", results);
+        return ResponseEntity.ok(response);
+    }
+}
\ No newline at end of file
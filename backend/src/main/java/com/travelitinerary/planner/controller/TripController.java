@@ -1,8 +1,12 @@
 package com.travelitinerary.planner.controller;
 
+import com.travelitinerary.planner.dto.CursorPage;
+import com.travelitinerary.planner.dto.RouteOptimizationResponse;
 import com.travelitinerary.planner.dto.TripRequest;
 import com.travelitinerary.planner.dto.TripResponse;
+import com.travelitinerary.planner.service.RouteOptimizationService;
 import com.travelitinerary.planner.service.TripService;
+import com.travelitinerary.planner.service.TripVersionService;
 import com.travelitinerary.planner.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -11,9 +15,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -28,26 +32,41 @@ public class TripController {
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private TripVersionService tripVersionService;
+    
+    @Autowired
+    private RouteOptimizationService routeOptimizationService;
+    
     @GetMapping
-    @Operation(summary = "Get user trips", description = "Get all trips for the authenticated user")
-    public ResponseEntity<Map<String, Object>> getUserTrips(Authentication authentication) {
+    @Operation(summary = "Get user trips", description = "Get a page of trips for the authenticated user, newest first")
+    public ResponseEntity<Map<String, Object>> getUserTrips(@RequestParam(required = false) String cursor,
+                                                           @RequestParam(required = false) Integer limit,
+                                                           Authentication authentication) {
         String userEmail = authentication.getName();
-        List<TripResponse> trips = tripService.getUserTrips(userEmail);
+        CursorPage<TripResponse> trips = tripService.getUserTrips(userEmail, cursor, limit);
         
         Map<String, Object> response = new HashMap<>();
-        response.put("trips", trips);
+        response.put("trips", trips.getItems());
+        response.put("nextCursor", trips.getNextCursor());
         return ResponseEntity.ok(response);
     }
     
     @GetMapping("/{id}")
     @Operation(summary = "Get trip by ID", description = "Get a specific trip with its destinations")
-    public ResponseEntity<Map<String, Object>> getTripById(@PathVariable Long id, Authentication authentication) {
+    public ResponseEntity<Map<String, Object>> getTripById(@PathVariable Long id, Authentication authentication,
+                                                          WebRequest webRequest) {
         String userEmail = authentication.getName();
+        // Answer If-None-Match from the trip's version before loading anything
+        String eTag = tripVersionService.getTripETag(id, userEmail);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
         TripResponse trip = tripService.getTripById(id, userEmail);
         
         Map<String, Object> response = new HashMap<>();
         response.put("trip", trip);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(eTag).body(response);
     }
     
     @PostMapping
@@ -84,4 +103,18 @@ public class TripController {
         response.put("message", "Trip deleted successfully");
         return ResponseEntity.ok(response);
     }
-} 
\ No newline at end of file
+    
+    @PostMapping("/{id}/optimize")
+    @Operation(summary = "Optimize routes", description = "Reorder each day's destinations into the shortest route, keeping timed destinations in time order")
+    public ResponseEntity<Map<String, Object>> optimizeRoutes(@PathVariable Long id,
+                                                             @RequestParam(defaultValue = "false") boolean dryRun,
+                                                             Authentication authentication) {
+        String userEmail = authentication.getName();
+        RouteOptimizationResponse optimization = routeOptimizationService.optimize(id, dryRun, userEmail);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", dryRun ? "Route optimization preview" : "Routes optimized successfully");
+        response.put("optimization", optimization);
+        return ResponseEntity.ok(response);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.travelitinerary.planner.controller;
+
+import com.travelitinerary.planner.dto.DestinationWeatherResponse;
+import com.travelitinerary.planner.service.WeatherService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/trips/{tripId}/weather")
+@Tag(name = "Weather", description = "Trip weather APIs")
+@CrossOrigin(origins = "*")
+public class WeatherController {
+    
+    @Autowired
+    private WeatherService weatherService;
+    
+    @GetMapping
+    @Operation(summary = "Get trip weather", description = "Get the weather for each destination on its date")
+    public ResponseEntity<Map<String, Object>> getTripWeather(@PathVariable Long tripId, Authentication authentication) {
+        String userEmail = authentication.getName();
+        List<DestinationWeatherResponse> weather = weatherService.getTripWeather(tripId, userEmail);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("weather", weather);
+        return ResponseEntity.ok(response);
+    }
+}
\ No newline at end of file
@@ -4,6 +4,9 @@ public class AuthResponse {
     
     private String message;
     private String token;
+    private String refreshToken;
+    // Seconds until the access token expires
+    private Long expiresIn;
     private UserDto user;
     
     // Constructors
@@ -15,6 +18,12 @@ public class AuthResponse {
         this.user = user;
     }
     
+    public AuthResponse(String message, String token, String refreshToken, long expiresIn, UserDto user) {
+        this(message, token, user);
+        this.refreshToken = refreshToken;
+        this.expiresIn = expiresIn;
+    }
+    
     // Getters and Setters
     public String getMessage() {
         return message;
@@ -32,6 +41,22 @@ public class AuthResponse {
         this.token = token;
     }
     
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+    
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+    
+    public Long getExpiresIn() {
+        return expiresIn;
+    }
+    
+    public void setExpiresIn(Long expiresIn) {
+        this.expiresIn = expiresIn;
+    }
+    
     public UserDto getUser() {
         return user;
     }
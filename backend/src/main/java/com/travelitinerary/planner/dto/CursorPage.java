@@ -0,0 +1,70 @@
+package com.travelitinerary.planner.dto;
+
+import com.travelitinerary.planner.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+public class CursorPage<T> {
+    
+    private static final String SEPARATOR = "|";
+    
+    private List<T> items;
+    private String nextCursor;
+    
+    // Constructors
+    public CursorPage() {}
+    
+    public CursorPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+    
+    // Cursor encoding: an opaque, URL-safe token wrapping the keyset of the last row served
+    public static String encodeCursor(Object... keys) {
+        StringBuilder raw = new StringBuilder();
+        for (int i = 0; i < keys.length; i++) {
+            if (i > 0) {
+                raw.append(SEPARATOR);
+            }
+            raw.append(keys[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public static String[] decodeCursor(String cursor, int expectedKeys) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] keys = raw.split("\\" + SEPARATOR, -1);
+            if (keys.length != expectedKeys) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            return keys;
+        } catch (IllegalArgumentException e) {
+            // Thrown by the Base64 decoder for malformed input
+            throw new BadRequestException("Invalid cursor", e);
+        }
+    }
+    
+    // Getters and Setters
+    public List<T> getItems() {
+        return items;
+    }
+    
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+    
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
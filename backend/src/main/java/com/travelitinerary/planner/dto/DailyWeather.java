@@ -0,0 +1,64 @@
+package com.travelitinerary.planner.dto;
+
+import java.time.LocalDate;
+
+public class DailyWeather {
+    
+    private LocalDate date;
+    private String condition;
+    private int high;
+    private int low;
+    private int precipitation;
+    
+    // Constructors
+    public DailyWeather() {}
+    
+    public DailyWeather(LocalDate date, String condition, int high, int low, int precipitation) {
+        this.date = date;
+        this.condition = condition;
+        this.high = high;
+        this.low = low;
+        this.precipitation = precipitation;
+    }
+    
+    // Getters and Setters
+    public LocalDate getDate() {
+        return date;
+    }
+    
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+    
+    public String getCondition() {
+        return condition;
+    }
+    
+    public void setCondition(String condition) {
+        this.condition = condition;
+    }
+    
+    public int getHigh() {
+        return high;
+    }
+    
+    public void setHigh(int high) {
+        this.high = high;
+    }
+    
+    public int getLow() {
+        return low;
+    }
+    
+    public void setLow(int low) {
+        this.low = low;
+    }
+    
+    public int getPrecipitation() {
+        return precipitation;
+    }
+    
+    public void setPrecipitation(int precipitation) {
+        this.precipitation = precipitation;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.travelitinerary.planner.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class DestinationBatchRequest {
+    
+    @NotEmpty(message = "At least one destination is required")
+    @Size(max = 1000, message = "At most 1000 destinations can be imported at once")
+    private List<@Valid DestinationRequest> destinations;
+    
+    // Constructors
+    public DestinationBatchRequest() {}
+    
+    public DestinationBatchRequest(List<DestinationRequest> destinations) {
+        this.destinations = destinations;
+    }
+    
+    // Getters and Setters
+    public List<DestinationRequest> getDestinations() {
+        return destinations;
+    }
+    
+    public void setDestinations(List<DestinationRequest> destinations) {
+        this.destinations = destinations;
+    }
+}
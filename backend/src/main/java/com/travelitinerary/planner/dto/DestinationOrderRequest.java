@@ -0,0 +1,63 @@
+package com.travelitinerary.planner.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class DestinationOrderRequest {
+    
+    @NotEmpty(message = "At least one move is required")
+    @Size(max = 1000, message = "At most 1000 moves can be applied at once")
+    private List<@Valid Move> moves;
+    
+    // Constructors
+    public DestinationOrderRequest() {}
+    
+    public DestinationOrderRequest(List<Move> moves) {
+        this.moves = moves;
+    }
+    
+    // Getters and Setters
+    public List<Move> getMoves() {
+        return moves;
+    }
+    
+    public void setMoves(List<Move> moves) {
+        this.moves = moves;
+    }
+    
+    // Places a destination directly after another one, or first in the trip when afterId is null
+    public static class Move {
+        
+        @NotNull(message = "Destination id is required")
+        private Long destinationId;
+        
+        private Long afterId;
+        
+        public Move() {}
+        
+        public Move(Long destinationId, Long afterId) {
+            this.destinationId = destinationId;
+            this.afterId = afterId;
+        }
+        
+        public Long getDestinationId() {
+            return destinationId;
+        }
+        
+        public void setDestinationId(Long destinationId) {
+            this.destinationId = destinationId;
+        }
+        
+        public Long getAfterId() {
+            return afterId;
+        }
+        
+        public void setAfterId(Long afterId) {
+            this.afterId = afterId;
+        }
+    }
+}
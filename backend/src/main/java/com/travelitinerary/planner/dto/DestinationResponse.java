@@ -14,6 +14,8 @@ public class DestinationResponse {
     private String notes;
     private String address;
     private Integer orderIndex;
+    private Double latitude;
+    private Double longitude;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     
@@ -35,6 +37,14 @@ public class DestinationResponse {
         this.updatedAt = updatedAt;
     }
     
+    public DestinationResponse(Long id, String name, String description, LocalDate date, 
+                              LocalTime time, String notes, String address, Integer orderIndex,
+                              Double latitude, Double longitude, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, name, description, date, time, notes, address, orderIndex, createdAt, updatedAt);
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+    
     // Getters and Setters
     public Long getId() {
         return id;
@@ -100,6 +110,22 @@ public class DestinationResponse {
         this.orderIndex = orderIndex;
     }
     
+    public Double getLatitude() {
+        return latitude;
+    }
+    
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+    
+    public Double getLongitude() {
+        return longitude;
+    }
+    
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+    
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
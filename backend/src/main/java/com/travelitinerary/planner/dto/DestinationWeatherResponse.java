@@ -0,0 +1,54 @@
+package com.travelitinerary.planner.dto;
+
+import java.time.LocalDate;
+
+public class DestinationWeatherResponse {
+    
+    private Long destinationId;
+    private String name;
+    private LocalDate date;
+    private DailyWeather forecast;
+    
+    // Constructors
+    public DestinationWeatherResponse() {}
+    
+    public DestinationWeatherResponse(Long destinationId, String name, LocalDate date, DailyWeather forecast) {
+        this.destinationId = destinationId;
+        this.name = name;
+        this.date = date;
+        this.forecast = forecast;
+    }
+    
+    // Getters and Setters
+    public Long getDestinationId() {
+        return destinationId;
+    }
+    
+    public void setDestinationId(Long destinationId) {
+        this.destinationId = destinationId;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public LocalDate getDate() {
+        return date;
+    }
+    
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+    
+    public DailyWeather getForecast() {
+        return forecast;
+    }
+    
+    public void setForecast(DailyWeather forecast) {
+        this.forecast = forecast;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,82 @@
+package com.travelitinerary.planner.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class ExpenseRequest {
+    
+    @NotBlank(message = "Description is required")
+    private String description;
+    
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.00", message = "Amount must not be negative")
+    @Digits(integer = 17, fraction = 2, message = "Amount must have at most 2 decimal places")
+    private BigDecimal amount;
+    
+    @NotBlank(message = "Category is required")
+    @Size(max = 50, message = "Category must be at most 50 characters")
+    private String category;
+    
+    @NotNull(message = "Date is required")
+    private LocalDate date;
+    
+    private String paidBy;
+    
+    // Constructors
+    public ExpenseRequest() {}
+    
+    public ExpenseRequest(String description, BigDecimal amount, String category, LocalDate date, String paidBy) {
+        this.description = description;
+        this.amount = amount;
+        this.category = category;
+        this.date = date;
+        this.paidBy = paidBy;
+    }
+    
+    // Getters and Setters
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+    }
+    
+    public BigDecimal getAmount() {
+        return amount;
+    }
+    
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+    
+    public String getCategory() {
+        return category;
+    }
+    
+    public void setCategory(String category) {
+        this.category = category;
+    }
+    
+    public LocalDate getDate() {
+        return date;
+    }
+    
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+    
+    public String getPaidBy() {
+        return paidBy;
+    }
+    
+    public void setPaidBy(String paidBy) {
+        this.paidBy = paidBy;
+    }
+}
@@ -0,0 +1,107 @@
+package com.travelitinerary.planner.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public class ExpenseResponse {
+    
+    private Long id;
+    private Long tripId;
+    private String description;
+    private BigDecimal amount;
+    private String category;
+    private LocalDate date;
+    private String paidBy;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    
+    // Constructors
+    public ExpenseResponse() {}
+    
+    public ExpenseResponse(Long id, Long tripId, String description, BigDecimal amount, String category,
+                           LocalDate date, String paidBy, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.tripId = tripId;
+        this.description = description;
+        this.amount = amount;
+        this.category = category;
+        this.date = date;
+        this.paidBy = paidBy;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getTripId() {
+        return tripId;
+    }
+    
+    public void setTripId(Long tripId) {
+        this.tripId = tripId;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+    }
+    
+    public BigDecimal getAmount() {
+        return amount;
+    }
+    
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+    
+    public String getCategory() {
+        return category;
+    }
+    
+    public void setCategory(String category) {
+        this.category = category;
+    }
+    
+    public LocalDate getDate() {
+        return date;
+    }
+    
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+    
+    public String getPaidBy() {
+        return paidBy;
+    }
+    
+    public void setPaidBy(String paidBy) {
+        this.paidBy = paidBy;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
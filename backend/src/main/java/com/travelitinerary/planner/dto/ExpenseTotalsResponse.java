@@ -0,0 +1,94 @@
+package com.travelitinerary.planner.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class ExpenseTotalsResponse {
+    
+    private Long tripId;
+    private BigDecimal total;
+    private int count;
+    private List<CategoryTotal> categories;
+    
+    // Constructors
+    public ExpenseTotalsResponse() {}
+    
+    public ExpenseTotalsResponse(Long tripId, BigDecimal total, int count, List<CategoryTotal> categories) {
+        this.tripId = tripId;
+        this.total = total;
+        this.count = count;
+        this.categories = categories;
+    }
+    
+    // Getters and Setters
+    public Long getTripId() {
+        return tripId;
+    }
+    
+    public void setTripId(Long tripId) {
+        this.tripId = tripId;
+    }
+    
+    public BigDecimal getTotal() {
+        return total;
+    }
+    
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+    
+    public int getCount() {
+        return count;
+    }
+    
+    public void setCount(int count) {
+        this.count = count;
+    }
+    
+    public List<CategoryTotal> getCategories() {
+        return categories;
+    }
+    
+    public void setCategories(List<CategoryTotal> categories) {
+        this.categories = categories;
+    }
+    
+    public static class CategoryTotal {
+        
+        private String category;
+        private BigDecimal total;
+        private int count;
+        
+        public CategoryTotal() {}
+        
+        public CategoryTotal(String category, BigDecimal total, int count) {
+            this.category = category;
+            this.total = total;
+            this.count = count;
+        }
+        
+        public String getCategory() {
+            return category;
+        }
+        
+        public void setCategory(String category) {
+            this.category = category;
+        }
+        
+        public BigDecimal getTotal() {
+            return total;
+        }
+        
+        public void setTotal(BigDecimal total) {
+            this.total = total;
+        }
+        
+        public int getCount() {
+            return count;
+        }
+        
+        public void setCount(int count) {
+            this.count = count;
+        }
+    }
+}
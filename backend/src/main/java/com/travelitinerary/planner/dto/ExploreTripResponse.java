@@ -0,0 +1,146 @@
+package com.travelitinerary.planner.dto;
+
+import com.travelitinerary.planner.model.Trip;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class ExploreTripResponse {
+    
+    private Long id;
+    private String title;
+    private String description;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private int destinations;
+    private String author;
+    private String authorAvatar;
+    private long likes;
+    private long views;
+    private List<String> tags;
+    private boolean isLiked;
+    private List<DestinationResponse> destinationsList;
+    
+    // Constructors
+    public ExploreTripResponse() {}
+    
+    // Used by JPQL constructor expressions
+    public ExploreTripResponse(Long id, String title, String description, LocalDate startDate, LocalDate endDate,
+                               Long destinations, String author, Long likes, Long views, String tags) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.destinations = destinations.intValue();
+        this.author = author;
+        this.likes = likes;
+        this.views = views;
+        this.tags = Trip.splitTags(tags);
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public void setTitle(String title) {
+        this.title = title;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+    }
+    
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+    
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+    
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+    
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+    
+    public int getDestinations() {
+        return destinations;
+    }
+    
+    public void setDestinations(int destinations) {
+        this.destinations = destinations;
+    }
+    
+    public String getAuthor() {
+        return author;
+    }
+    
+    public void setAuthor(String author) {
+        this.author = author;
+    }
+    
+    public String getAuthorAvatar() {
+        return authorAvatar;
+    }
+    
+    public void setAuthorAvatar(String authorAvatar) {
+        this.authorAvatar = authorAvatar;
+    }
+    
+    public long getLikes() {
+        return likes;
+    }
+    
+    public void setLikes(long likes) {
+        this.likes = likes;
+    }
+    
+    public long getViews() {
+        return views;
+    }
+    
+    public void setViews(long views) {
+        this.views = views;
+    }
+    
+    public List<String> getTags() {
+        return tags;
+    }
+    
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+    
+    public boolean getIsLiked() {
+        return isLiked;
+    }
+    
+    public void setIsLiked(boolean isLiked) {
+        this.isLiked = isLiked;
+    }
+    
+    public List<DestinationResponse> getDestinationsList() {
+        return destinationsList;
+    }
+    
+    public void setDestinationsList(List<DestinationResponse> destinationsList) {
+        this.destinationsList = destinationsList;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,165 @@
+package com.travelitinerary.planner.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class RouteOptimizationResponse {
+    
+    private boolean dryRun;
+    private List<DayRoute> days;
+    private List<OrderChange> changes;
+    
+    // Constructors
+    public RouteOptimizationResponse() {}
+    
+    public RouteOptimizationResponse(boolean dryRun, List<DayRoute> days, List<OrderChange> changes) {
+        this.dryRun = dryRun;
+        this.days = days;
+        this.changes = changes;
+    }
+    
+    // Getters and Setters
+    public boolean getDryRun() {
+        return dryRun;
+    }
+    
+    public void setDryRun(boolean dryRun) {
+        this.dryRun = dryRun;
+    }
+    
+    public List<DayRoute> getDays() {
+        return days;
+    }
+    
+    public void setDays(List<DayRoute> days) {
+        this.days = days;
+    }
+    
+    public List<OrderChange> getChanges() {
+        return changes;
+    }
+    
+    public void setChanges(List<OrderChange> changes) {
+        this.changes = changes;
+    }
+    
+    // One day's route; days with destinations that could not be located, or with more stops than the limit, are left as they are
+    public static class DayRoute {
+        
+        private LocalDate date;
+        private List<Long> destinationIds;
+        private List<Long> unlocatedDestinationIds;
+        private double distanceBeforeKm;
+        private double distanceAfterKm;
+        private boolean changed;
+        private boolean exceedsStopLimit;
+        
+        public DayRoute() {}
+        
+        public DayRoute(LocalDate date, List<Long> destinationIds, List<Long> unlocatedDestinationIds,
+                        double distanceBeforeKm, double distanceAfterKm, boolean changed) {
+            this.date = date;
+            this.destinationIds = destinationIds;
+            this.unlocatedDestinationIds = unlocatedDestinationIds;
+            this.distanceBeforeKm = distanceBeforeKm;
+            this.distanceAfterKm = distanceAfterKm;
+            this.changed = changed;
+        }
+        
+        public LocalDate getDate() {
+            return date;
+        }
+        
+        public void setDate(LocalDate date) {
+            this.date = date;
+        }
+        
+        public List<Long> getDestinationIds() {
+            return destinationIds;
+        }
+        
+        public void setDestinationIds(List<Long> destinationIds) {
+            this.destinationIds = destinationIds;
+        }
+        
+        public List<Long> getUnlocatedDestinationIds() {
+            return unlocatedDestinationIds;
+        }
+        
+        public void setUnlocatedDestinationIds(List<Long> unlocatedDestinationIds) {
+            this.unlocatedDestinationIds = unlocatedDestinationIds;
+        }
+        
+        public double getDistanceBeforeKm() {
+            return distanceBeforeKm;
+        }
+        
+        public void setDistanceBeforeKm(double distanceBeforeKm) {
+            this.distanceBeforeKm = distanceBeforeKm;
+        }
+        
+        public double getDistanceAfterKm() {
+            return distanceAfterKm;
+        }
+        
+        public void setDistanceAfterKm(double distanceAfterKm) {
+            this.distanceAfterKm = distanceAfterKm;
+        }
+        
+        public boolean getChanged() {
+            return changed;
+        }
+        
+        public void setChanged(boolean changed) {
+            this.changed = changed;
+        }
+        
+        public boolean getExceedsStopLimit() {
+            return exceedsStopLimit;
+        }
+        
+        public void setExceedsStopLimit(boolean exceedsStopLimit) {
+            this.exceedsStopLimit = exceedsStopLimit;
+        }
+    }
+    
+    // A destination's position before and after the optimization
+    public static class OrderChange {
+        
+        private Long destinationId;
+        private Integer fromOrderIndex;
+        private Integer toOrderIndex;
+        
+        public OrderChange() {}
+        
+        public OrderChange(Long destinationId, Integer fromOrderIndex, Integer toOrderIndex) {
+            this.destinationId = destinationId;
+            this.fromOrderIndex = fromOrderIndex;
+            this.toOrderIndex = toOrderIndex;
+        }
+        
+        public Long getDestinationId() {
+            return destinationId;
+        }
+        
+        public void setDestinationId(Long destinationId) {
+            this.destinationId = destinationId;
+        }
+        
+        public Integer getFromOrderIndex() {
+            return fromOrderIndex;
+        }
+        
+        public void setFromOrderIndex(Integer fromOrderIndex) {
+            this.fromOrderIndex = fromOrderIndex;
+        }
+        
+        public Integer getToOrderIndex() {
+            return toOrderIndex;
+        }
+        
+        public void setToOrderIndex(Integer toOrderIndex) {
+            this.toOrderIndex = toOrderIndex;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.travelitinerary.planner.dto;
+
+public class SearchResult {
+    
+    public static final String TYPE_TRIP = "trip";
+    public static final String TYPE_DESTINATION = "destination";
+    
+    private String type;
+    private Long id;
+    private Long tripId;
+    private String title;
+    private String description;
+    
+    // Constructors
+    public SearchResult() {}
+    
+    public SearchResult(String type, Long id, Long tripId, String title, String description) {
+        this.type = type;
+        this.id = id;
+        this.tripId = tripId;
+        this.title = title;
+        this.description = description;
+    }
+    
+    // Getters and Setters
+    public String getType() {
+        return type;
+    }
+    
+    public void setType(String type) {
+        this.type = type;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getTripId() {
+        return tripId;
+    }
+    
+    public void setTripId(Long tripId) {
+        this.tripId = tripId;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public void setTitle(String title) {
+        this.title = title;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+    }
+}
\ No newline at end of file
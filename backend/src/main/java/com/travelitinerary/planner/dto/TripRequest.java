@@ -2,8 +2,11 @@ package com.travelitinerary.planner.dto;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 
 import java.time.LocalDate;
+import java.util.List;
 
 public class TripRequest {
     
@@ -18,6 +21,11 @@ public class TripRequest {
     @NotNull(message = "End date is required")
     private LocalDate endDate;
     
+    private Boolean isPublic;
+    
+    @Size(max = 10, message = "At most 10 tags are allowed")
+    private List<@NotBlank @Size(max = 30) @Pattern(regexp = "[^,]*", message = "Tags cannot contain commas") String> tags;
+    
     // Constructors
     public TripRequest() {}
     
@@ -60,4 +68,20 @@ public class TripRequest {
     public void setEndDate(LocalDate endDate) {
         this.endDate = endDate;
     }
+    
+    public Boolean getIsPublic() {
+        return isPublic;
+    }
+    
+    public void setIsPublic(Boolean isPublic) {
+        this.isPublic = isPublic;
+    }
+    
+    public List<String> getTags() {
+        return tags;
+    }
+    
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
 } 
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.travelitinerary.planner.dto;
 
+import com.travelitinerary.planner.model.Trip;
+
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -14,6 +16,8 @@ public class TripResponse {
     private int destinations;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private boolean isPublic;
+    private List<String> tags;
     private List<DestinationResponse> destinationsList;
     
     // Constructors
@@ -32,6 +36,21 @@ public class TripResponse {
         this.updatedAt = updatedAt;
     }
     
+    // Used by JPQL constructor expressions, where COUNT(...) yields a Long
+    public TripResponse(Long id, String title, String description, LocalDate startDate, 
+                       LocalDate endDate, Long destinations, LocalDateTime createdAt, 
+                       LocalDateTime updatedAt) {
+        this(id, title, description, startDate, endDate, destinations.intValue(), createdAt, updatedAt);
+    }
+    
+    public TripResponse(Long id, String title, String description, LocalDate startDate, 
+                       LocalDate endDate, Long destinations, LocalDateTime createdAt, 
+                       LocalDateTime updatedAt, Boolean isPublic, String tags) {
+        this(id, title, description, startDate, endDate, destinations, createdAt, updatedAt);
+        this.isPublic = Boolean.TRUE.equals(isPublic);
+        this.tags = Trip.splitTags(tags);
+    }
+    
     // Getters and Setters
     public Long getId() {
         return id;
@@ -97,6 +116,22 @@ public class TripResponse {
         this.updatedAt = updatedAt;
     }
     
+    public boolean getIsPublic() {
+        return isPublic;
+    }
+    
+    public void setIsPublic(boolean isPublic) {
+        this.isPublic = isPublic;
+    }
+    
+    public List<String> getTags() {
+        return tags;
+    }
+    
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+    
     public List<DestinationResponse> getDestinationsList() {
         return destinationsList;
     }
@@ -0,0 +1,16 @@
+package com.travelitinerary.planner.exception;
+
+/**
+ * A request the client can fix: a malformed cursor, a missing query, a conflicting or wrong input value.
+ * Its message is returned to the client with a 400, so it must not carry internal details.
+ */
+public class BadRequestException extends RuntimeException {
+    
+    public BadRequestException(String message) {
+        super(message);
+    }
+    
+    public BadRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
\ No newline at end of file
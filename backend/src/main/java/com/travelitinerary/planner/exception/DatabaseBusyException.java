@@ -0,0 +1,21 @@
+package com.travelitinerary.planner.exception;
+
+public class DatabaseBusyException extends RuntimeException {
+    
+    public DatabaseBusyException(String message) {
+        super(message);
+    }
+    
+    // Refusals while a transaction is being opened reach callers wrapped by the transaction manager
+    public static DatabaseBusyException findIn(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DatabaseBusyException busy) {
+                return busy;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.travelitinerary.planner.exception;
+
+public class InvalidTokenException extends RuntimeException {
+    
+    public InvalidTokenException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
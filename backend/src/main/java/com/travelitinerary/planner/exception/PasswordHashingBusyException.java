@@ -0,0 +1,8 @@
+package com.travelitinerary.planner.exception;
+
+public class PasswordHashingBusyException extends RuntimeException {
+    
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.travelitinerary.planner.metrics;
+
+import org.hibernate.Interceptor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.type.Type;
+
+/**
+ * Counts the SQL statements Hibernate prepares and the entities it loads on the current thread
+ * while a request is being tracked by {@link RequestQueryMetricsFilter}.
+ */
+public class RequestQueryStats implements StatementInspector, Interceptor {
+    
+    private static final ThreadLocal<Counts> CURRENT = new ThreadLocal<>();
+    
+    static Counts start() {
+        Counts counts = new Counts();
+        CURRENT.set(counts);
+        return counts;
+    }
+    
+    static void stop() {
+        CURRENT.remove();
+    }
+    
+    @Override
+    public String inspect(String sql) {
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.statements++;
+        }
+        return sql;
+    }
+    
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.entityLoads++;
+        }
+        return false;
+    }
+    
+    static class Counts {
+        
+        int statements;
+        
+        int entityLoads;
+    }
+}
\ No newline at end of file
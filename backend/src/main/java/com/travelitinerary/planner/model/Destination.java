@@ -11,11 +11,15 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 @Entity
-@Table(name = "destinations")
+// Mirrors the unique constraint created by the V3 migration
+@Table(name = "destinations", uniqueConstraints =
+        @UniqueConstraint(name = "uk_destinations_trip_order", columnNames = {"trip_id", "order_index"}))
 public class Destination {
     
+    // Pooled sequence ids (a table-backed sequence on MySQL) let Hibernate batch inserts, which IDENTITY prevents
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "destination_seq")
+    @SequenceGenerator(name = "destination_seq", sequenceName = "destination_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Name is required")
@@ -38,6 +42,13 @@ public class Destination {
     @Column
     private String address;
     
+    // Set from the request or looked up in the gazetteer; null when the place is unknown
+    @Column(name = "latitude")
+    private Double latitude;
+    
+    @Column(name = "longitude")
+    private Double longitude;
+    
     @NotNull(message = "Order index is required")
     @Column(name = "order_index", nullable = false)
     private Integer orderIndex;
@@ -126,6 +137,22 @@ public class Destination {
         this.address = address;
     }
     
+    public Double getLatitude() {
+        return latitude;
+    }
+    
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+    
+    public Double getLongitude() {
+        return longitude;
+    }
+    
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+    
     public Integer getOrderIndex() {
         return orderIndex;
     }
@@ -157,4 +184,9 @@ public class Destination {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+    
+    // Helper methods
+    public boolean hasCoordinates() {
+        return latitude != null && longitude != null;
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,137 @@
+package com.travelitinerary.planner.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "expenses")
+public class Expense {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @NotBlank(message = "Description is required")
+    @Column(nullable = false)
+    private String description;
+    
+    @NotNull(message = "Amount is required")
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+    
+    @NotBlank(message = "Category is required")
+    @Column(nullable = false, length = 50)
+    private String category;
+    
+    @NotNull(message = "Date is required")
+    @Column(nullable = false)
+    private LocalDate date;
+    
+    @Column(name = "paid_by")
+    private String paidBy;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "trip_id", nullable = false)
+    private Trip trip;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    // Constructors
+    public Expense() {}
+    
+    public Expense(String description, BigDecimal amount, String category, LocalDate date, 
+                   String paidBy, Trip trip) {
+        this.description = description;
+        this.amount = amount;
+        this.category = category;
+        this.date = date;
+        this.paidBy = paidBy;
+        this.trip = trip;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+    }
+    
+    public BigDecimal getAmount() {
+        return amount;
+    }
+    
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+    
+    public String getCategory() {
+        return category;
+    }
+    
+    public void setCategory(String category) {
+        this.category = category;
+    }
+    
+    public LocalDate getDate() {
+        return date;
+    }
+    
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+    
+    public String getPaidBy() {
+        return paidBy;
+    }
+    
+    public void setPaidBy(String paidBy) {
+        this.paidBy = paidBy;
+    }
+    
+    public Trip getTrip() {
+        return trip;
+    }
+    
+    public void setTrip(Trip trip) {
+        this.trip = trip;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,102 @@
+package com.travelitinerary.planner.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Running total of a trip's expenses in one category, maintained on every expense write.
+ */
+@Entity
+@Table(name = "expense_totals")
+@IdClass(ExpenseTotal.ExpenseTotalId.class)
+public class ExpenseTotal {
+    
+    @Id
+    @Column(name = "trip_id")
+    private Long tripId;
+    
+    @Id
+    @Column(length = 50)
+    private String category;
+    
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount = BigDecimal.ZERO;
+    
+    @Column(name = "expense_count", nullable = false)
+    private int expenseCount;
+    
+    // Constructors
+    public ExpenseTotal() {}
+    
+    public ExpenseTotal(Long tripId, String category, BigDecimal amount, int expenseCount) {
+        this.tripId = tripId;
+        this.category = category;
+        this.amount = amount;
+        this.expenseCount = expenseCount;
+    }
+    
+    // Getters and Setters
+    public Long getTripId() {
+        return tripId;
+    }
+    
+    public void setTripId(Long tripId) {
+        this.tripId = tripId;
+    }
+    
+    public String getCategory() {
+        return category;
+    }
+    
+    public void setCategory(String category) {
+        this.category = category;
+    }
+    
+    public BigDecimal getAmount() {
+        return amount;
+    }
+    
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+    
+    public int getExpenseCount() {
+        return expenseCount;
+    }
+    
+    public void setExpenseCount(int expenseCount) {
+        this.expenseCount = expenseCount;
+    }
+    
+    public static class ExpenseTotalId implements Serializable {
+        
+        private Long tripId;
+        private String category;
+        
+        public ExpenseTotalId() {}
+        
+        public ExpenseTotalId(Long tripId, String category) {
+            this.tripId = tripId;
+            this.category = category;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ExpenseTotalId other)) {
+                return false;
+            }
+            return Objects.equals(tripId, other.tripId) && Objects.equals(category, other.category);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(tripId, category);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.travelitinerary.planner.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "revoked_tokens")
+public class RevokedToken {
+    
+    // The token's jti claim
+    @Id
+    @Column(name = "jti", length = 36)
+    private String jti;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    // When the token expires on its own; the row is useless after this
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+    
+    // Polled by the other instances to pick up revocations between filter rebuilds
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+    
+    // Constructors
+    public RevokedToken() {}
+    
+    public RevokedToken(String jti, Long userId, LocalDateTime expiresAt, LocalDateTime revokedAt) {
+        this.jti = jti;
+        this.userId = userId;
+        this.expiresAt = expiresAt;
+        this.revokedAt = revokedAt;
+    }
+    
+    // Getters and Setters
+    public String getJti() {
+        return jti;
+    }
+    
+    public void setJti(String jti) {
+        this.jti = jti;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+    
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+    
+    public LocalDateTime getRevokedAt() {
+        return revokedAt;
+    }
+    
+    public void setRevokedAt(LocalDateTime revokedAt) {
+        this.revokedAt = revokedAt;
+    }
+}
\ No newline at end of file
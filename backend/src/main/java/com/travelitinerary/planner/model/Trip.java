@@ -9,6 +9,7 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 @Entity
@@ -46,6 +47,33 @@ public class Trip {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Highest order index handed out to this trip's destinations; only ever advanced by atomic UPDATE statements
+    @Column(name = "destination_order_seq", updatable = false)
+    private Integer destinationOrderSeq = 0;
+    
+    // Content version of the trip and its destinations, served as the ETag; only bumped by atomic UPDATE statements
+    @Column(name = "version", nullable = false, updatable = false)
+    private Long version = 0L;
+    
+    // Listed in the explore feed
+    @Column(name = "is_public", nullable = false)
+    private boolean isPublic = false;
+    
+    // Comma-separated; see getTagList()
+    @Column(name = "tags", length = 500)
+    private String tags;
+    
+    // Engagement counters; only advanced by the batched counter flush, read with queries rather than from the entity
+    @Column(name = "like_count", nullable = false, updatable = false)
+    private Long likeCount = 0L;
+    
+    @Column(name = "view_count", nullable = false, updatable = false)
+    private Long viewCount = 0L;
+    
+    // Generation of the trip's calendar feed; bumped when its links are revoked, read with queries only
+    @Column(name = "calendar_feed_generation", nullable = false, updatable = false)
+    private int calendarFeedGeneration;
+    
     @OneToMany(mappedBy = "trip", cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
     @OrderBy("orderIndex ASC")
     private List<Destination> destinations = new ArrayList<>();
@@ -126,6 +154,62 @@ public class Trip {
         this.updatedAt = updatedAt;
     }
     
+    public Integer getDestinationOrderSeq() {
+        return destinationOrderSeq;
+    }
+    
+    public void setDestinationOrderSeq(Integer destinationOrderSeq) {
+        this.destinationOrderSeq = destinationOrderSeq;
+    }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
+    public boolean isPublic() {
+        return isPublic;
+    }
+    
+    public void setPublic(boolean isPublic) {
+        this.isPublic = isPublic;
+    }
+    
+    public String getTags() {
+        return tags;
+    }
+    
+    public void setTags(String tags) {
+        this.tags = tags;
+    }
+    
+    public Long getLikeCount() {
+        return likeCount;
+    }
+    
+    public void setLikeCount(Long likeCount) {
+        this.likeCount = likeCount;
+    }
+    
+    public Long getViewCount() {
+        return viewCount;
+    }
+    
+    public void setViewCount(Long viewCount) {
+        this.viewCount = viewCount;
+    }
+    
+    public int getCalendarFeedGeneration() {
+        return calendarFeedGeneration;
+    }
+    
+    public void setCalendarFeedGeneration(int calendarFeedGeneration) {
+        this.calendarFeedGeneration = calendarFeedGeneration;
+    }
+    
     public List<Destination> getDestinations() {
         return destinations;
     }
@@ -135,6 +219,21 @@ public class Trip {
     }
     
     // Helper methods
+    public List<String> getTagList() {
+        return splitTags(tags);
+    }
+    
+    public void setTagList(List<String> tagList) {
+        this.tags = (tagList == null || tagList.isEmpty()) ? null : String.join(",", tagList);
+    }
+    
+    public static List<String> splitTags(String tags) {
+        if (tags == null || tags.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(Arrays.asList(tags.split(",")));
+    }
+    
     public void addDestination(Destination destination) {
         destinations.add(destination);
         destination.setTrip(this);
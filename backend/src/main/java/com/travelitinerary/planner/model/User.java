@@ -42,6 +42,14 @@ public class User {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Tokens issued before this instant are no longer accepted; set when the password changes
+    @Column(name = "tokens_not_before")
+    private LocalDateTime tokensNotBefore;
+    
+    // Generation of the all-trips calendar feed; only bumped by an atomic UPDATE when its links are revoked
+    @Column(name = "calendar_feed_generation", nullable = false, updatable = false)
+    private int calendarFeedGeneration;
+    
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Trip> trips = new ArrayList<>();
     
@@ -103,6 +111,22 @@ public class User {
         this.updatedAt = updatedAt;
     }
     
+    public LocalDateTime getTokensNotBefore() {
+        return tokensNotBefore;
+    }
+    
+    public void setTokensNotBefore(LocalDateTime tokensNotBefore) {
+        this.tokensNotBefore = tokensNotBefore;
+    }
+    
+    public int getCalendarFeedGeneration() {
+        return calendarFeedGeneration;
+    }
+    
+    public void setCalendarFeedGeneration(int calendarFeedGeneration) {
+        this.calendarFeedGeneration = calendarFeedGeneration;
+    }
+    
     public List<Trip> getTrips() {
         return trips;
     }
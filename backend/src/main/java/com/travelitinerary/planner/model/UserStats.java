@@ -0,0 +1,107 @@
+package com.travelitinerary.planner.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "user_stats")
+public class UserStats {
+    
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+    
+    @Column(name = "total_trips", nullable = false)
+    private int totalTrips;
+    
+    @Column(name = "total_destinations", nullable = false)
+    private int totalDestinations;
+    
+    @Column(name = "total_expenses", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalExpenses = BigDecimal.ZERO;
+    
+    // Number of trips starting on or after the day the figure was computed
+    @Column(name = "upcoming_trips", nullable = false)
+    private int upcomingTrips;
+    
+    // Earliest start date among the trips counted in upcomingTrips; the count stays exact until this day has passed
+    @Column(name = "next_start_date")
+    private LocalDate nextStartDate;
+    
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    // Constructors
+    public UserStats() {}
+    
+    public UserStats(Long userId) {
+        this.userId = userId;
+    }
+    
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    
+    public int getTotalTrips() {
+        return totalTrips;
+    }
+    
+    public void setTotalTrips(int totalTrips) {
+        this.totalTrips = totalTrips;
+    }
+    
+    public int getTotalDestinations() {
+        return totalDestinations;
+    }
+    
+    public void setTotalDestinations(int totalDestinations) {
+        this.totalDestinations = totalDestinations;
+    }
+    
+    public BigDecimal getTotalExpenses() {
+        return totalExpenses;
+    }
+    
+    public void setTotalExpenses(BigDecimal totalExpenses) {
+        this.totalExpenses = totalExpenses;
+    }
+    
+    public int getUpcomingTrips() {
+        return upcomingTrips;
+    }
+    
+    public void setUpcomingTrips(int upcomingTrips) {
+        this.upcomingTrips = upcomingTrips;
+    }
+    
+    public LocalDate getNextStartDate() {
+        return nextStartDate;
+    }
+    
+    public void setNextStartDate(LocalDate nextStartDate) {
+        this.nextStartDate = nextStartDate;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
+    // Helper methods
+    public boolean isUpcomingCountValidOn(LocalDate today) {
+        return nextStartDate == null || !nextStartDate.isBefore(today);
+    }
+}
@@ -1,21 +1,74 @@
 package com.travelitinerary.planner.repository;
 
 import com.travelitinerary.planner.model.Destination;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface DestinationRepository extends JpaRepository<Destination, Long> {
     
+    // Served from the query cache; invalidated by Hibernate whenever the destinations table is written
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<Destination> findByTripIdOrderByOrderIndexAsc(Long tripId);
     
+    @Query("SELECT d FROM Destination d WHERE d.trip.id = :tripId ORDER BY d.orderIndex ASC, d.id ASC")
+    List<Destination> findPageByTripId(@Param("tripId") Long tripId, Pageable pageable);
+    
+    // Forward-only cursor for the account export, in the same trip order as TripRepository.streamByUserId
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT d FROM Destination d WHERE d.trip.user.id = :userId ORDER BY d.trip.id ASC, d.orderIndex ASC, d.id ASC")
+    Stream<Destination> streamByUserId(@Param("userId") Long userId);
+    
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT d FROM Destination d WHERE d.trip.id = :tripId ORDER BY d.orderIndex ASC, d.id ASC")
+    Stream<Destination> streamByTripId(@Param("tripId") Long tripId);
+    
+    @Query("SELECT d FROM Destination d WHERE d.trip.id = :tripId " +
+           "AND (d.orderIndex > :orderIndex OR (d.orderIndex = :orderIndex AND d.id > :id)) " +
+           "ORDER BY d.orderIndex ASC, d.id ASC")
+    List<Destination> findPageByTripIdAfter(@Param("tripId") Long tripId,
+                                            @Param("orderIndex") Integer orderIndex,
+                                            @Param("id") Long id,
+                                            Pageable pageable);
+    
     @Query("SELECT COUNT(d) FROM Destination d WHERE d.trip.user.id = :userId")
     long countByUserId(@Param("userId") Long userId);
     
-    @Query("SELECT MAX(d.orderIndex) FROM Destination d WHERE d.trip.id = :tripId")
-    Integer findMaxOrderIndexByTripId(@Param("tripId") Long tripId);
+    long countByTripId(Long tripId);
+    
+    Optional<Destination> findByIdAndTripId(Long id, Long tripId);
+    
+    @Query("SELECT MIN(d.orderIndex) FROM Destination d WHERE d.trip.id = :tripId")
+    Integer findMinOrderIndexByTripId(@Param("tripId") Long tripId);
+    
+    @Query("SELECT d FROM Destination d WHERE d.trip.id = :tripId AND d.orderIndex > :orderIndex AND d.id <> :excludeId " +
+           "ORDER BY d.orderIndex ASC")
+    List<Destination> findNextInOrder(@Param("tripId") Long tripId, @Param("orderIndex") Integer orderIndex,
+                                      @Param("excludeId") Long excludeId, Pageable pageable);
+    
+    @Query("SELECT d FROM Destination d WHERE d.trip.id = :tripId AND d.id <> :excludeId ORDER BY d.orderIndex ASC")
+    List<Destination> findFirstInOrder(@Param("tripId") Long tripId, @Param("excludeId") Long excludeId, Pageable pageable);
+    
+    @Query("SELECT d.trip.user.id, COUNT(d) FROM Destination d WHERE d.trip.user.id IN :userIds GROUP BY d.trip.user.id")
+    List<Object[]> countByUserIds(@Param("userIds") Collection<Long> userIds);
 } 
\ No newline at end of file
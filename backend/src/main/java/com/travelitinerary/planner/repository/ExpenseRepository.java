@@ -0,0 +1,36 @@
+package com.travelitinerary.planner.repository;
+
+import com.travelitinerary.planner.model.Expense;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Repository
+public interface ExpenseRepository extends JpaRepository<Expense, Long> {
+    
+    Optional<Expense> findByIdAndTripId(Long id, Long tripId);
+    
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e FROM Expense e WHERE e.trip.id = :tripId ORDER BY e.date ASC, e.id ASC")
+    Stream<Expense> streamByTripId(@Param("tripId") Long tripId);
+    
+    @Modifying
+    @Query("DELETE FROM Expense e WHERE e.trip.id = :tripId")
+    int deleteByTripId(@Param("tripId") Long tripId);
+    
+    @Query("SELECT e.trip.user.id, SUM(e.amount) FROM Expense e WHERE e.trip.user.id IN :userIds GROUP BY e.trip.user.id")
+    List<Object[]> sumByUserIds(@Param("userIds") Collection<Long> userIds);
+}
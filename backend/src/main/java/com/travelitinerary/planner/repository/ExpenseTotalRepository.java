@@ -0,0 +1,27 @@
+package com.travelitinerary.planner.repository;
+
+import com.travelitinerary.planner.model.ExpenseTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface ExpenseTotalRepository extends JpaRepository<ExpenseTotal, ExpenseTotal.ExpenseTotalId> {
+    
+    List<ExpenseTotal> findByTripIdOrderByCategoryAsc(Long tripId);
+    
+    @Modifying
+    @Query("UPDATE ExpenseTotal t SET t.amount = t.amount + :amount, t.expenseCount = t.expenseCount + :count " +
+           "WHERE t.tripId = :tripId AND t.category = :category")
+    int addToTotal(@Param("tripId") Long tripId, @Param("category") String category,
+                   @Param("amount") BigDecimal amount, @Param("count") int count);
+    
+    @Modifying
+    @Query("DELETE FROM ExpenseTotal t WHERE t.tripId = :tripId")
+    int deleteByTripId(@Param("tripId") Long tripId);
+}
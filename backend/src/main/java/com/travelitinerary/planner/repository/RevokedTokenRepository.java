@@ -0,0 +1,35 @@
+package com.travelitinerary.planner.repository;
+
+import com.travelitinerary.planner.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+    
+    @Query("SELECT r.jti FROM RevokedToken r WHERE r.expiresAt > :now")
+    List<String> findActiveJtis(@Param("now") LocalDateTime now);
+    
+    @Query("SELECT r.jti FROM RevokedToken r WHERE r.revokedAt > :since AND r.expiresAt > :now")
+    List<String> findJtisRevokedAfter(@Param("since") LocalDateTime since, @Param("now") LocalDateTime now);
+    
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+    
+    // Reports 0 when the token was already revoked, so a token can be revoked (and redeemed) only once
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO revoked_tokens (jti, user_id, expires_at, revoked_at) " +
+                   "VALUES (:jti, :userId, :expiresAt, :revokedAt)",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("jti") String jti, @Param("userId") Long userId, @Param("expiresAt") LocalDateTime expiresAt,
+                       @Param("revokedAt") LocalDateTime revokedAt);
+}
\ No newline at end of file
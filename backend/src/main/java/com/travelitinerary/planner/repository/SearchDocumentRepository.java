@@ -0,0 +1,27 @@
+package com.travelitinerary.planner.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Streams the searchable columns of every trip and destination for rebuilding the search index,
+ * without materializing entities.
+ */
+@Repository
+public class SearchDocumentRepository {
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    // Columns: id, user_id, title, description
+    public void forEachTrip(RowCallbackHandler handler) {
+        jdbcTemplate.query("SELECT id, user_id, title, description FROM trips", handler);
+    }
+    
+    // Columns: id, trip_id, name, description, notes, address
+    public void forEachDestination(RowCallbackHandler handler) {
+        jdbcTemplate.query("SELECT id, trip_id, name, description, notes, address FROM destinations", handler);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.travelitinerary.planner.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Atomic updates of the counters kept on the trips row (destination order sequence, content version and calendar feed generation).
+ * These run as plain JDBC in the caller's transaction rather than JPQL bulk updates, which would make
+ * Hibernate evict every cached trip and trip destination list on each write. The counters are never read
+ * from the cached {@code Trip} entity.
+ */
+@Repository
+public class TripCounterRepository {
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    // Trips created before the sequence existed start from their current highest order index
+    public int initializeDestinationOrderSeq(Long tripId) {
+        return jdbcTemplate.update(
+                "UPDATE trips SET destination_order_seq = " +
+                "COALESCE((SELECT MAX(d.order_index) FROM destinations d WHERE d.trip_id = ?), 0) " +
+                "WHERE id = ? AND destination_order_seq IS NULL",
+                tripId, tripId);
+    }
+    
+    public int advanceDestinationOrderSeq(Long tripId, int delta) {
+        return jdbcTemplate.update(
+                "UPDATE trips SET destination_order_seq = destination_order_seq + ? WHERE id = ?",
+                delta, tripId);
+    }
+    
+    // Only while holding the trip row lock, after the trip's destinations have been renumbered up to orderSeq
+    public int resetDestinationOrderSeq(Long tripId, int orderSeq) {
+        return jdbcTemplate.update("UPDATE trips SET destination_order_seq = ? WHERE id = ?", orderSeq, tripId);
+    }
+    
+    public Integer findDestinationOrderSeq(Long tripId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT destination_order_seq FROM trips WHERE id = ?", Integer.class, tripId);
+    }
+    
+    public int incrementVersion(Long tripId) {
+        return jdbcTemplate.update("UPDATE trips SET version = version + 1 WHERE id = ?", tripId);
+    }
+    
+    public int incrementCalendarFeedGeneration(Long tripId, Long userId) {
+        return jdbcTemplate.update(
+                "UPDATE trips SET calendar_feed_generation = calendar_feed_generation + 1 WHERE id = ? AND user_id = ?",
+                tripId, userId);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,93 @@
+package com.travelitinerary.planner.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Likes and the like/view counters of public trips. Like rows are written per request; the counters are
+ * advanced in batches by the engagement flush, as JDBC so the cached {@code Trip} entities are not evicted.
+ */
+@Repository
+public class TripEngagementRepository {
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    
+    public boolean addLike(Long tripId, Long userId) {
+        try {
+            jdbcTemplate.update("INSERT INTO trip_likes (trip_id, user_id, created_at) VALUES (?, ?, CURRENT_TIMESTAMP)",
+                    tripId, userId);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+    
+    public boolean removeLike(Long tripId, Long userId) {
+        return jdbcTemplate.update("DELETE FROM trip_likes WHERE trip_id = ? AND user_id = ?", tripId, userId) > 0;
+    }
+    
+    public Set<Long> findLikedTripIds(Long userId, Collection<Long> tripIds) {
+        if (tripIds.isEmpty()) {
+            return new HashSet<>();
+        }
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("tripIds", tripIds);
+        return new HashSet<>(namedParameterJdbcTemplate.queryForList(
+                "SELECT trip_id FROM trip_likes WHERE user_id = :userId AND trip_id IN (:tripIds)",
+                parameters, Long.class));
+    }
+    
+    // Returns {likes, views}, or null when the trip does not exist
+    public long[] findCounts(Long tripId) {
+        List<long[]> counts = jdbcTemplate.query("SELECT like_count, view_count FROM trips WHERE id = ?",
+                (rs, rowNum) -> new long[] {rs.getLong(1), rs.getLong(2)}, tripId);
+        return counts.isEmpty() ? null : counts.get(0);
+    }
+    
+    public void forEachPublicTrip(Consumer<CounterDelta> consumer) {
+        jdbcTemplate.query("SELECT id, like_count, view_count FROM trips WHERE is_public = TRUE",
+                rs -> {
+                    consumer.accept(new CounterDelta(rs.getLong(1), rs.getLong(2), rs.getLong(3)));
+                });
+    }
+    
+    // Counters of those of the given trips that are public
+    public List<CounterDelta> findPublicCounts(Collection<Long> tripIds) {
+        if (tripIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return namedParameterJdbcTemplate.query(
+                "SELECT id, like_count, view_count FROM trips WHERE id IN (:tripIds) AND is_public = TRUE",
+                new MapSqlParameterSource("tripIds", tripIds),
+                (rs, rowNum) -> new CounterDelta(rs.getLong(1), rs.getLong(2), rs.getLong(3)));
+    }
+    
+    public void addCounts(List<CounterDelta> deltas, int batchSize) {
+        jdbcTemplate.batchUpdate(
+                "UPDATE trips SET like_count = like_count + ?, view_count = view_count + ? WHERE id = ?",
+                deltas, batchSize, (ps, delta) -> {
+                    ps.setLong(1, delta.likes());
+                    ps.setLong(2, delta.views());
+                    ps.setLong(3, delta.tripId());
+                });
+    }
+    
+    public record CounterDelta(Long tripId, long likes, long views) {
+    }
+}
\ No newline at end of file
@@ -1,19 +1,76 @@
 package com.travelitinerary.planner.repository;
 
+import com.travelitinerary.planner.dto.ExploreTripResponse;
+import com.travelitinerary.planner.dto.TripResponse;
 import com.travelitinerary.planner.model.Trip;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TripRepository extends JpaRepository<Trip, Long> {
     
     List<Trip> findByUserIdOrderByCreatedAtDesc(Long userId);
     
+    // Forward-only cursor for the account export; rows bypass the second-level cache
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT t FROM Trip t WHERE t.user.id = :userId ORDER BY t.id ASC")
+    Stream<Trip> streamByUserId(@Param("userId") Long userId);
+    
+    boolean existsByIdAndUserId(Long id, Long userId);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Trip t WHERE t.id = :id AND t.user.id = :userId")
+    Optional<Trip> findByIdAndUserIdForUpdate(@Param("id") Long id, @Param("userId") Long userId);
+    
+    @Query("SELECT t.version FROM Trip t WHERE t.id = :id AND t.user.id = :userId")
+    Optional<Long> findVersionByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+    
+    // The owner's tokens_not_before and the trip feed's generation, which a trip feed token must both satisfy
+    @Query("SELECT u.tokensNotBefore, t.calendarFeedGeneration FROM Trip t JOIN t.user u " +
+           "WHERE t.id = :id AND u.id = :userId")
+    List<Object[]> findCalendarFeedState(@Param("id") Long id, @Param("userId") Long userId);
+    
+    // Trip id and version pairs, which together change whenever any of the user's trips does
+    @Query("SELECT t.id, t.version FROM Trip t WHERE t.user.id = :userId ORDER BY t.id ASC")
+    List<Object[]> findVersionsByUserId(@Param("userId") Long userId);
+    
+    @Query("SELECT new com.travelitinerary.planner.dto.TripResponse(" +
+           "t.id, t.title, t.description, t.startDate, t.endDate, COUNT(d), t.createdAt, t.updatedAt, t.isPublic, t.tags) " +
+           "FROM Trip t LEFT JOIN t.destinations d WHERE t.user.id = :userId " +
+           "GROUP BY t.id, t.title, t.description, t.startDate, t.endDate, t.createdAt, t.updatedAt, t.isPublic, t.tags " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TripResponse> findTripSummariesByUserId(@Param("userId") Long userId, Pageable pageable);
+    
+    @Query("SELECT new com.travelitinerary.planner.dto.TripResponse(" +
+           "t.id, t.title, t.description, t.startDate, t.endDate, COUNT(d), t.createdAt, t.updatedAt, t.isPublic, t.tags) " +
+           "FROM Trip t LEFT JOIN t.destinations d WHERE t.user.id = :userId " +
+           "AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) " +
+           "GROUP BY t.id, t.title, t.description, t.startDate, t.endDate, t.createdAt, t.updatedAt, t.isPublic, t.tags " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TripResponse> findTripSummariesByUserIdAfter(@Param("userId") Long userId,
+                                                      @Param("createdAt") LocalDateTime createdAt,
+                                                      @Param("id") Long id,
+                                                      Pageable pageable);
+    
     @Query("SELECT t FROM Trip t WHERE t.user.id = :userId AND t.startDate >= :today ORDER BY t.startDate ASC")
     List<Trip> findUpcomingTripsByUserId(@Param("userId") Long userId, @Param("today") LocalDate today);
     
@@ -22,4 +79,17 @@ public interface TripRepository extends JpaRepository<Trip, Long> {
     
     @Query("SELECT COUNT(t) FROM Trip t WHERE t.user.id = :userId AND t.startDate >= :today")
     long countUpcomingTripsByUserId(@Param("userId") Long userId, @Param("today") LocalDate today);
+    
+    @Query("SELECT t.user.id, COUNT(t) FROM Trip t WHERE t.user.id IN :userIds GROUP BY t.user.id")
+    List<Object[]> countByUserIds(@Param("userIds") Collection<Long> userIds);
+    
+    @Query("SELECT t.user.id, COUNT(t), MIN(t.startDate) FROM Trip t " +
+           "WHERE t.user.id IN :userIds AND t.startDate >= :today GROUP BY t.user.id")
+    List<Object[]> countUpcomingByUserIds(@Param("userIds") Collection<Long> userIds, @Param("today") LocalDate today);
+    
+    @Query("SELECT new com.travelitinerary.planner.dto.ExploreTripResponse(" +
+           "t.id, t.title, t.description, t.startDate, t.endDate, COUNT(d), u.name, t.likeCount, t.viewCount, t.tags) " +
+           "FROM Trip t JOIN t.user u LEFT JOIN t.destinations d WHERE t.id IN :ids AND t.isPublic = true " +
+           "GROUP BY t.id, t.title, t.description, t.startDate, t.endDate, u.name, t.likeCount, t.viewCount, t.tags")
+    List<ExploreTripResponse> findPublicSummariesByIds(@Param("ids") Collection<Long> ids);
 } 
\ No newline at end of file
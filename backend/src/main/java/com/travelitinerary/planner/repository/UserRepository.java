@@ -1,9 +1,15 @@
 package com.travelitinerary.planner.repository;
 
 import com.travelitinerary.planner.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +18,17 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     
     boolean existsByEmail(String email);
+    
+    @Query("SELECT u.id FROM User u WHERE u.id > :afterId ORDER BY u.id ASC")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT u.id FROM User u WHERE u.tokensNotBefore > :since")
+    List<Long> findIdsWithTokensNotBeforeAfter(@Param("since") LocalDateTime since);
+    
+    @Query("SELECT u.tokensNotBefore, u.calendarFeedGeneration FROM User u WHERE u.id = :id")
+    List<Object[]> findCalendarFeedState(@Param("id") Long id);
+    
+    @Modifying
+    @Query("UPDATE User u SET u.calendarFeedGeneration = u.calendarFeedGeneration + 1 WHERE u.id = :id")
+    int incrementCalendarFeedGeneration(@Param("id") Long id);
 } 
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.travelitinerary.planner.repository;
+
+import com.travelitinerary.planner.model.UserStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface UserStatsRepository extends JpaRepository<UserStats, Long> {
+    
+    // Holds back the counter updates below until the caller's transaction ends
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UserStats s WHERE s.userId IN :userIds")
+    List<UserStats> findAllByUserIdInForUpdate(@Param("userIds") Collection<Long> userIds);
+    
+    @Modifying
+    @Query("UPDATE UserStats s SET s.totalTrips = s.totalTrips + :delta WHERE s.userId = :userId")
+    int addTrips(@Param("userId") Long userId, @Param("delta") int delta);
+    
+    @Modifying
+    @Query("UPDATE UserStats s SET s.totalDestinations = s.totalDestinations + :delta WHERE s.userId = :userId")
+    int addDestinations(@Param("userId") Long userId, @Param("delta") int delta);
+    
+    @Modifying
+    @Query("UPDATE UserStats s SET s.totalExpenses = s.totalExpenses + :delta WHERE s.userId = :userId")
+    int addExpenses(@Param("userId") Long userId, @Param("delta") BigDecimal delta);
+    
+    @Modifying
+    @Query("UPDATE UserStats s SET s.upcomingTrips = s.upcomingTrips + 1, " +
+           "s.nextStartDate = CASE WHEN s.nextStartDate IS NULL OR s.nextStartDate > :startDate " +
+           "THEN :startDate ELSE s.nextStartDate END " +
+           "WHERE s.userId = :userId")
+    int addUpcomingTrip(@Param("userId") Long userId, @Param("startDate") LocalDate startDate);
+    
+    @Modifying
+    @Query("UPDATE UserStats s SET s.upcomingTrips = s.upcomingTrips - 1 WHERE s.userId = :userId")
+    int removeUpcomingTrip(@Param("userId") Long userId);
+    
+    @Modifying
+    @Query("UPDATE UserStats s SET s.upcomingTrips = :upcomingTrips, s.nextStartDate = :nextStartDate " +
+           "WHERE s.userId = :userId")
+    int setUpcoming(@Param("userId") Long userId, @Param("upcomingTrips") int upcomingTrips,
+                    @Param("nextStartDate") LocalDate nextStartDate);
+    
+    // Creates the record only when it is missing, so concurrent first reads cannot collide on the primary key
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO user_stats (user_id, total_trips, total_destinations, total_expenses, " +
+                   "upcoming_trips, next_start_date, updated_at) " +
+                   "VALUES (:userId, :totalTrips, :totalDestinations, :totalExpenses, :upcomingTrips, :nextStartDate, " +
+                   "CURRENT_TIMESTAMP)",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId, @Param("totalTrips") int totalTrips,
+                       @Param("totalDestinations") int totalDestinations,
+                       @Param("totalExpenses") BigDecimal totalExpenses,
+                       @Param("upcomingTrips") int upcomingTrips,
+                       @Param("nextStartDate") LocalDate nextStartDate);
+}
\ No newline at end of file
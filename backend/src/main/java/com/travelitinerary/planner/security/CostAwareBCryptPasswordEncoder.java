@@ -0,0 +1,31 @@
+package com.travelitinerary.planner.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt encoder that asks for any hash made with a different cost to be upgraded, not just weaker ones,
+ * so changing {@code app.password-hashing.bcrypt-strength} in either direction applies at each user's next login.
+ */
+public class CostAwareBCryptPasswordEncoder extends BCryptPasswordEncoder {
+    
+    private static final Pattern BCRYPT_HASH = Pattern.compile("\\$2[abxy]?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}");
+    
+    private final int strength;
+    
+    public CostAwareBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+    
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_HASH.matcher(encodedPassword);
+        return matcher.matches() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+}
\ No newline at end of file
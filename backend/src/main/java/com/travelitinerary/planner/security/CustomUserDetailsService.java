@@ -4,27 +4,52 @@ import com.travelitinerary.planner.model.User;
 import com.travelitinerary.planner.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-
-import java.util.ArrayList;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
     
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private PrincipalCache principalCache;
+    
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
         
-        return new org.springframework.security.core.userdetails.User(
-                user.getEmail(),
-                user.getPassword(),
-                new ArrayList<>()
-        );
+        return UserPrincipal.create(user);
+    }
+    
+    // Called after a successful login when the stored hash was made with a different BCrypt cost
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + userDetails.getUsername()));
+        user.setPassword(newPassword);
+        
+        return UserPrincipal.create(userRepository.save(user));
+    }
+    
+    public UserPrincipal loadPrincipal(String email, Long userId) {
+        UserPrincipal principal = principalCache.get(email);
+        if (principal != null && (userId == null || principal.getId().equals(userId))) {
+            return principal;
+        }
+        
+        User user = (userId != null ? userRepository.findById(userId) : userRepository.findByEmail(email))
+                .filter(u -> u.getEmail().equals(email))
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+        
+        principal = UserPrincipal.withoutCredentials(user);
+        principalCache.put(principal);
+        return principal;
     }
-} 
\ No newline at end of file
+}
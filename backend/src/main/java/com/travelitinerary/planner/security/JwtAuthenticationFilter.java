@@ -1,20 +1,25 @@
 package com.travelitinerary.planner.security;
 
+import com.travelitinerary.planner.exception.DatabaseBusyException;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -23,7 +28,29 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private JwtTokenProvider tokenProvider;
     
     @Autowired
-    private UserDetailsService userDetailsService;
+    private CustomUserDetailsService userDetailsService;
+    
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private Timer validTokenTimer;
+    
+    private Timer invalidTokenTimer;
+    
+    @PostConstruct
+    public void init() {
+        validTokenTimer = Timer.builder("auth.jwt.verification")
+                .description("Time to verify the bearer token of a request")
+                .tag("result", "valid")
+                .register(meterRegistry);
+        invalidTokenTimer = Timer.builder("auth.jwt.verification")
+                .description("Time to verify the bearer token of a request")
+                .tag("result", "invalid")
+                .register(meterRegistry);
+    }
     
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
@@ -31,23 +58,46 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
             
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String email = tokenProvider.getEmailFromToken(jwt);
-                
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+            Claims claims = StringUtils.hasText(jwt) ? verify(jwt) : null;
+            
+            // Refresh tokens are only good at /auth/refresh
+            if (claims != null && tokenProvider.isAccessToken(claims) && !tokenRevocationService.isRevoked(claims)) {
+                UserPrincipal principal = principalFrom(claims);
                 UsernamePasswordAuthenticationToken authentication = 
-                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                    new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             }
         } catch (Exception ex) {
+            DatabaseBusyException busy = DatabaseBusyException.findIn(ex);
+            if (busy != null) {
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, busy.getMessage());
+                return;
+            }
             logger.error("Could not set user authentication in security context", ex);
         }
         
         filterChain.doFilter(request, response);
     }
     
+    // The signed claims identify the caller; only tokens from before the user id claim need a lookup
+    private UserPrincipal principalFrom(Claims claims) {
+        Long userId = tokenProvider.getUserId(claims);
+        if (userId == null) {
+            return userDetailsService.loadPrincipal(claims.getSubject(), null);
+        }
+        return new UserPrincipal(userId, null, claims.getSubject(), null);
+    }
+    
+    private Claims verify(String jwt) {
+        long start = System.nanoTime();
+        Claims claims = tokenProvider.parseToken(jwt);
+        (claims != null ? validTokenTimer : invalidTokenTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return claims;
+    }
+    
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -55,4 +105,4 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         return null;
     }
-} 
\ No newline at end of file
+}
@@ -1,73 +1,231 @@
 package com.travelitinerary.planner.security;
 
+import com.travelitinerary.planner.cache.BoundedTtlCache;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
 import java.util.Date;
+import java.util.UUID;
 
 @Component
 public class JwtTokenProvider {
     
+    public static final String USER_ID_CLAIM = "uid";
+    
+    public static final String TOKEN_TYPE_CLAIM = "type";
+    
+    public static final String ACCESS_TOKEN = "access";
+    
+    public static final String REFRESH_TOKEN = "refresh";
+    
+    public static final String CALENDAR_TOKEN = "calendar";
+    
+    public static final String TRIP_ID_CLAIM = "tid";
+    
+    public static final String FEED_GENERATION_CLAIM = "gen";
+    
     @Value("${jwt.secret}")
     private String jwtSecret;
     
     @Value("${jwt.expiration}")
     private long jwtExpirationMs;
     
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    @Value("${jwt.refresh-expiration:1209600000}")
+    private long refreshExpirationMs;
+    
+    @Value("${jwt.verified-cache.max-size:4096}")
+    private int verifiedCacheMaxSize;
+    
+    @Value("${jwt.verified-cache.ttl:10m}")
+    private Duration verifiedCacheTtl;
+    
+    private SecretKey signingKey;
+    
+    private JwtParser parser;
+    
+    // Claims of recently verified tokens, keyed by the token's SHA-256 digest
+    private BoundedTtlCache<String, Claims> verifiedTokens;
+    
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        verifiedTokens = new BoundedTtlCache<>(verifiedCacheMaxSize, verifiedCacheTtl);
     }
     
     public String generateToken(Authentication authentication) {
-        UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
         
+        return generateToken(userPrincipal.getId(), userPrincipal.getUsername());
+    }
+    
+    public String generateToken(Long userId, String email) {
+        return buildToken(userId, email, ACCESS_TOKEN, jwtExpirationMs);
+    }
+    
+    public String generateRefreshToken(Long userId, String email) {
+        return buildToken(userId, email, REFRESH_TOKEN, refreshExpirationMs);
+    }
+    
+    /**
+     * Token for a calendar feed URL, scoped to one trip or, with a null trip id, to all of the user's trips.
+     * Calendar apps keep polling a subscribed URL for as long as it exists, so the token does not expire.
+     * It is revoked by a password change or by bumping the feed's generation, both checked by the feed itself.
+     */
+    public String generateCalendarToken(Long userId, String email, Long tripId, int feedGeneration) {
+        JwtBuilder builder = Jwts.builder()
+                .id(UUID.randomUUID().toString())
+                .subject(email)
+                .claim(USER_ID_CLAIM, userId)
+                .claim(TOKEN_TYPE_CLAIM, CALENDAR_TOKEN)
+                .claim(FEED_GENERATION_CLAIM, feedGeneration)
+                .issuedAt(new Date());
+        if (tripId != null) {
+            builder.claim(TRIP_ID_CLAIM, tripId);
+        }
+        return builder.signWith(signingKey, Jwts.SIG.HS512).compact();
+    }
+    
+    // Every token gets a random jti so it can be revoked on its own
+    private String buildToken(Long userId, String email, String type, long validityMs) {
         Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
+        Date expiryDate = new Date(now.getTime() + validityMs);
         
         return Jwts.builder()
-                .setSubject(userPrincipal.getUsername())
-                .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .id(UUID.randomUUID().toString())
+                .subject(email)
+                .claim(USER_ID_CLAIM, userId)
+                .claim(TOKEN_TYPE_CLAIM, type)
+                .issuedAt(now)
+                .expiration(expiryDate)
+                .signWith(signingKey, Jwts.SIG.HS512)
                 .compact();
     }
     
-    public String generateToken(String email) {
-        Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
+    /**
+     * Verifies the token once and returns its claims, or {@code null} if the token is invalid or expired.
+     * Tokens seen recently are answered from a digest-keyed cache until their {@code exp}.
+     */
+    public Claims parseToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
         
-        return Jwts.builder()
-                .setSubject(email)
-                .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
-                .compact();
+        String digest = digest(token);
+        Claims claims = verifiedTokens.get(digest);
+        if (claims != null) {
+            if (claims.getExpiration() == null || claims.getExpiration().getTime() > System.currentTimeMillis()) {
+                return claims;
+            }
+            verifiedTokens.evict(digest);
+            return null;
+        }
+        
+        try {
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+        
+        Date expiration = claims.getExpiration();
+        Duration ttl = expiration != null
+                ? Duration.ofMillis(expiration.getTime() - System.currentTimeMillis())
+                : verifiedCacheTtl;
+        verifiedTokens.put(digest, claims, ttl);
+        return claims;
     }
     
     public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        
-        return claims.getSubject();
+        Claims claims = parseToken(token);
+        return claims != null ? claims.getSubject() : null;
+    }
+    
+    public Long getUserIdFromToken(String token) {
+        Claims claims = parseToken(token);
+        return claims != null ? getUserId(claims) : null;
+    }
+    
+    public Long getUserId(Claims claims) {
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        return userId != null ? userId.longValue() : null;
+    }
+    
+    // Tokens issued before refresh tokens existed carry no type and are access tokens
+    public boolean isAccessToken(Claims claims) {
+        String type = claims.get(TOKEN_TYPE_CLAIM, String.class);
+        return type == null || ACCESS_TOKEN.equals(type);
+    }
+    
+    public boolean isRefreshToken(Claims claims) {
+        return REFRESH_TOKEN.equals(claims.get(TOKEN_TYPE_CLAIM, String.class));
+    }
+    
+    public boolean isCalendarToken(Claims claims) {
+        return CALENDAR_TOKEN.equals(claims.get(TOKEN_TYPE_CLAIM, String.class));
+    }
+    
+    public Long getTripId(Claims claims) {
+        Number tripId = claims.get(TRIP_ID_CLAIM, Number.class);
+        return tripId != null ? tripId.longValue() : null;
+    }
+    
+    // Feed tokens issued before generations existed belong to the first one
+    public int getFeedGeneration(Claims claims) {
+        Number generation = claims.get(FEED_GENERATION_CLAIM, Number.class);
+        return generation != null ? generation.intValue() : 0;
+    }
+    
+    // True when the token predates notBefore (a password change); tokens without iat count as older
+    public boolean isIssuedBefore(Claims claims, LocalDateTime notBefore) {
+        if (notBefore == null) {
+            return false;
+        }
+        Date issuedAt = claims.getIssuedAt();
+        return issuedAt == null
+                || LocalDateTime.ofInstant(issuedAt.toInstant(), ZoneId.systemDefault()).isBefore(notBefore);
+    }
+    
+    public long getAccessTokenValiditySeconds() {
+        return jwtExpirationMs / 1000;
+    }
+    
+    public Duration getRefreshTokenValidity() {
+        return Duration.ofMillis(refreshExpirationMs);
     }
     
     public boolean validateToken(String token) {
+        return parseToken(token) != null;
+    }
+    
+    public long getVerifiedCacheHitCount() {
+        return verifiedTokens.getHitCount();
+    }
+    
+    public long getVerifiedCacheMissCount() {
+        return verifiedTokens.getMissCount();
+    }
+    
+    private static String digest(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] hash = sha256.digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
         }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,33 @@
+package com.travelitinerary.planner.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Runs {@code encode} and {@code matches} on the {@link PasswordHashingExecutor}.
+ */
+public class OffloadingPasswordEncoder implements PasswordEncoder {
+    
+    private final PasswordEncoder delegate;
+    
+    private final PasswordHashingExecutor executor;
+    
+    public OffloadingPasswordEncoder(PasswordEncoder delegate, PasswordHashingExecutor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+    
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return executor.call(() -> delegate.encode(rawPassword));
+    }
+    
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return executor.call(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+    
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
\ No newline at end of file
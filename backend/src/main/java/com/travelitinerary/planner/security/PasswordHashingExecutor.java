@@ -0,0 +1,88 @@
+package com.travelitinerary.planner.security;
+
+import com.travelitinerary.planner.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed pool, one thread per core by default, that runs all password hashing and verification. The queue
+ * is bounded: when it is full the caller gets a {@link PasswordHashingBusyException} (429) straight away
+ * instead of waiting, so a login burst can use at most the pool's cores and never ties up the request
+ * threads serving everything else.
+ */
+@Component
+public class PasswordHashingExecutor implements MeterBinder {
+    
+    private final ThreadPoolExecutor executor;
+    
+    private final LongAdder rejected = new LongAdder();
+    
+    public PasswordHashingExecutor(@Value("${app.password-hashing.threads:0}") int threads,
+                                   @Value("${app.password-hashing.queue-capacity:100}") int queueCapacity) {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(size, size, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("password-hash-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+    
+    /**
+     * Runs the task on the pool and waits for its result.
+     */
+    public <T> T call(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingBusyException("Too many sign-in requests in progress, please retry shortly");
+        }
+        
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("auth.password.queue", executor, e -> e.getQueue().size())
+                .description("Password hashing tasks waiting for a thread")
+                .register(registry);
+        Gauge.builder("auth.password.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(registry);
+        FunctionCounter.builder("auth.password.rejected", rejected, LongAdder::sum)
+                .description("Password hashing requests rejected with 429 because the queue was full")
+                .register(registry);
+    }
+}
\ No newline at end of file
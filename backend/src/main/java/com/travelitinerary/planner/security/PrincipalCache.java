@@ -0,0 +1,60 @@
+package com.travelitinerary.planner.security;
+
+import com.travelitinerary.planner.cache.BoundedTtlCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Caches authenticated principals by email so the JWT filter and the services can resolve
+ * the caller without querying the users table on every request.
+ */
+@Component
+public class PrincipalCache implements MeterBinder {
+    
+    private final BoundedTtlCache<String, UserPrincipal> cache;
+    
+    public PrincipalCache(@Value("${app.principal-cache.max-size:10000}") int maxSize,
+                          @Value("${app.principal-cache.ttl:5m}") Duration ttl) {
+        this.cache = new BoundedTtlCache<>(maxSize, ttl);
+    }
+    
+    public UserPrincipal get(String email) {
+        return cache.get(email);
+    }
+    
+    public void put(UserPrincipal principal) {
+        cache.put(principal.getEmail(), principal);
+    }
+    
+    public void evict(String email) {
+        cache.evict(email);
+    }
+    
+    public long getHitCount() {
+        return cache.getHitCount();
+    }
+    
+    public long getMissCount() {
+        return cache.getMissCount();
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("principal.cache.requests", cache, BoundedTtlCache::getHitCount)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("principal.cache.requests", cache, BoundedTtlCache::getMissCount)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("principal.cache.evictions", cache, BoundedTtlCache::getEvictionCount)
+                .register(registry);
+        Gauge.builder("principal.cache.size", cache, BoundedTtlCache::size)
+                .register(registry);
+    }
+}
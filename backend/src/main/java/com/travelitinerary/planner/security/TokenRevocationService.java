@@ -0,0 +1,254 @@
+package com.travelitinerary.planner.security;
+
+import com.travelitinerary.planner.cache.BloomFilter;
+import com.travelitinerary.planner.model.User;
+import com.travelitinerary.planner.repository.RevokedTokenRepository;
+import com.travelitinerary.planner.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Revocation list for JWTs, consulted on every authenticated request. Revoked token ids and users whose
+ * tokens were all revoked are kept in the database and mirrored into a {@link BloomFilter}, so a token that
+ * was never revoked is cleared with a few bit probes; only a filter hit is confirmed against the database.
+ * The filter is rebuilt from the database at startup and periodically, which also drops expired entries.
+ * Between rebuilds each instance polls for revocations made by the others, so a logout or password change
+ * reaches every instance within the poll interval, well inside the access-token lifetime.
+ */
+@Component
+public class TokenRevocationService implements SmartInitializingSingleton, MeterBinder {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+    
+    private static final String JTI_KEY = "jti:";
+    
+    private static final String USER_KEY = "user:";
+    
+    // Re-read window before the last poll: covers slow commits and clock skew between instances
+    private static final Duration POLL_OVERLAP = Duration.ofMinutes(1);
+    
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+    
+    @Value("${jwt.revocation.expected-entries:100000}")
+    private int expectedEntries;
+    
+    @Value("${jwt.revocation.false-positive-rate:0.001}")
+    private double falsePositiveRate;
+    
+    private volatile BloomFilter filter;
+    
+    private final Object swapLock = new Object();
+    
+    // Keys revoked while a rebuild is reading the database, replayed into the new filter before it is swapped in
+    private List<String> addedDuringRebuild;
+    
+    // Revocations up to this instant (less the overlap) are already in the filter
+    private volatile LocalDateTime polledUntil;
+    
+    private final LongAdder cleared = new LongAdder();
+    private final LongAdder revoked = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    
+    // Runs before the web server starts, so no request is checked against an empty filter
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+    
+    @Scheduled(fixedDelayString = "${jwt.revocation.rebuild-interval:1h}", initialDelayString = "${jwt.revocation.rebuild-interval:1h}")
+    public synchronized void rebuild() {
+        long started = System.nanoTime();
+        synchronized (swapLock) {
+            addedDuringRebuild = new ArrayList<>();
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            polledUntil = now;
+            int purged = revokedTokenRepository.deleteExpired(now);
+            // A password change older than the longest token lifetime can no longer match a live token
+            List<Long> userIds = userRepository.findIdsWithTokensNotBeforeAfter(
+                    now.minus(tokenProvider.getRefreshTokenValidity()));
+            List<String> jtis = revokedTokenRepository.findActiveJtis(now);
+            
+            // Past its expected size the false-positive rate climbs quickly, so leave room to grow
+            BloomFilter next = new BloomFilter(
+                    Math.max(expectedEntries, 2 * (userIds.size() + jtis.size())), falsePositiveRate);
+            for (Long userId : userIds) {
+                next.add(USER_KEY + userId);
+            }
+            for (String jti : jtis) {
+                next.add(JTI_KEY + jti);
+            }
+            synchronized (swapLock) {
+                addedDuringRebuild.forEach(next::add);
+                filter = next;
+            }
+            
+            logger.info("Token revocation filter built with {} entries ({} expired purged) in {} ms",
+                    next.getInsertionCount(), purged, (System.nanoTime() - started) / 1_000_000);
+        } finally {
+            synchronized (swapLock) {
+                addedDuringRebuild = null;
+            }
+        }
+    }
+    
+    // Picks up revocations committed by other instances since the last poll
+    @Scheduled(fixedDelayString = "${jwt.revocation.poll-interval:5s}", initialDelayString = "${jwt.revocation.poll-interval:5s}")
+    public void pollRecent() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = polledUntil.minus(POLL_OVERLAP);
+        for (Long userId : userRepository.findIdsWithTokensNotBeforeAfter(since)) {
+            addIfAbsent(USER_KEY + userId);
+        }
+        for (String jti : revokedTokenRepository.findJtisRevokedAfter(since, now)) {
+            addIfAbsent(JTI_KEY + jti);
+        }
+        polledUntil = now;
+    }
+    
+    public boolean isRevoked(Claims claims) {
+        BloomFilter current = filter;
+        
+        String jti = claims.getId();
+        if (jti != null && current.mightContain(JTI_KEY + jti)) {
+            if (revokedTokenRepository.existsById(jti)) {
+                revoked.increment();
+                return true;
+            }
+            falsePositives.increment();
+        }
+        
+        Long userId = tokenProvider.getUserId(claims);
+        if (userId != null && current.mightContain(USER_KEY + userId)) {
+            // Served from the second-level cache for recently seen users
+            User user = userRepository.findById(userId).orElse(null);
+            if (user == null || tokenProvider.isIssuedBefore(claims, user.getTokensNotBefore())) {
+                revoked.increment();
+                return true;
+            }
+            falsePositives.increment();
+            return false;
+        }
+        
+        cleared.increment();
+        return false;
+    }
+    
+    /**
+     * Revokes a single access or refresh token until it expires. Returns false when the token was already
+     * revoked, by this or a concurrent call, or cannot be revoked here because it has no id or no expiry.
+     */
+    @Transactional
+    public boolean revoke(Claims claims) {
+        String jti = claims.getId();
+        Long userId = tokenProvider.getUserId(claims);
+        if (jti == null || userId == null) {
+            // Issued before tokens carried an id; it simply runs out
+            return false;
+        }
+        if (claims.getExpiration() == null) {
+            // Calendar feed tokens never expire and are revoked through their feed generation instead
+            return false;
+        }
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault());
+        if (revokedTokenRepository.insertIfAbsent(jti, userId, expiresAt, LocalDateTime.now()) == 0) {
+            return false;
+        }
+        runAfterCommit(() -> add(JTI_KEY + jti));
+        return true;
+    }
+    
+    /**
+     * Revokes every token issued to the user so far and saves the user, committing any other pending change
+     * (such as a new password) together with it. Tokens issued later in the same second stay valid, which keeps
+     * the ones handed out by the same request usable.
+     */
+    @Transactional
+    public User revokeAll(User user) {
+        user.setTokensNotBefore(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+        User savedUser = userRepository.save(user);
+        Long userId = savedUser.getId();
+        runAfterCommit(() -> add(USER_KEY + userId));
+        return savedUser;
+    }
+    
+    // Added only once the row is committed, so a rebuild that missed the row still gets the key
+    private void add(String key) {
+        synchronized (swapLock) {
+            filter.add(key);
+            if (addedDuringRebuild != null) {
+                addedDuringRebuild.add(key);
+            }
+        }
+    }
+    
+    // The overlap re-reads recent keys on every poll; skip those already in the filter so its count stays honest
+    private void addIfAbsent(String key) {
+        synchronized (swapLock) {
+            if (addedDuringRebuild != null || !filter.mightContain(key)) {
+                add(key);
+            }
+        }
+    }
+    
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("auth.token.revocation.checks", cleared, LongAdder::sum)
+                .description("Token revocation checks, by how they were answered")
+                .tag("result", "cleared")
+                .register(registry);
+        FunctionCounter.builder("auth.token.revocation.checks", falsePositives, LongAdder::sum)
+                .description("Token revocation checks, by how they were answered")
+                .tag("result", "false-positive")
+                .register(registry);
+        FunctionCounter.builder("auth.token.revocation.checks", revoked, LongAdder::sum)
+                .description("Token revocation checks, by how they were answered")
+                .tag("result", "revoked")
+                .register(registry);
+        Gauge.builder("auth.token.revocation.filter.entries", this, service -> service.filter == null ? 0 : service.filter.getInsertionCount())
+                .description("Keys in the token revocation filter")
+                .register(registry);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.travelitinerary.planner.security;
+
+import com.travelitinerary.planner.model.User;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+
+public class UserPrincipal implements UserDetails, CredentialsContainer {
+    
+    private final Long id;
+    private final String name;
+    private final String email;
+    private String password;
+    
+    // Constructors
+    public UserPrincipal(Long id, String name, String email, String password) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.password = password;
+    }
+    
+    public static UserPrincipal create(User user) {
+        return new UserPrincipal(user.getId(), user.getName(), user.getEmail(), user.getPassword());
+    }
+    
+    public static UserPrincipal withoutCredentials(User user) {
+        return new UserPrincipal(user.getId(), user.getName(), user.getEmail(), null);
+    }
+    
+    // Getters
+    public Long getId() {
+        return id;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public String getEmail() {
+        return email;
+    }
+    
+    @Override
+    public String getUsername() {
+        return email;
+    }
+    
+    @Override
+    public String getPassword() {
+        return password;
+    }
+    
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return Collections.emptyList();
+    }
+    
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+    
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+    
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+    
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+    
+    @Override
+    public void eraseCredentials() {
+        this.password = null;
+    }
+}
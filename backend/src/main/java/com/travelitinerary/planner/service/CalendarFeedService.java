@@ -0,0 +1,326 @@
+package com.travelitinerary.planner.service;
+
+import com.travelitinerary.planner.cache.BoundedTtlCache;
+import com.travelitinerary.planner.exception.InvalidTokenException;
+import com.travelitinerary.planner.exception.ResourceNotFoundException;
+import com.travelitinerary.planner.model.Destination;
+import com.travelitinerary.planner.model.Trip;
+import com.travelitinerary.planner.repository.DestinationRepository;
+import com.travelitinerary.planner.repository.TripCounterRepository;
+import com.travelitinerary.planner.repository.TripRepository;
+import com.travelitinerary.planner.repository.UserRepository;
+import com.travelitinerary.planner.security.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * iCalendar feeds of a single trip or of all of a user's trips, for calendar apps that poll a subscribed URL.
+ * The ETag of a feed comes from trip versions alone, so an unchanged poll is answered with one small query.
+ * Each trip's VEVENT block is streamed from a destination cursor and kept per trip version, so a feed whose
+ * trips did not change is written from memory.
+ */
+@Service
+public class CalendarFeedService implements MeterBinder {
+    
+    private static final String UID_DOMAIN = "@travel-itinerary-planner";
+    
+    @Autowired
+    private TripRepository tripRepository;
+    
+    @Autowired
+    private DestinationRepository destinationRepository;
+    
+    @Autowired
+    private TripCounterRepository tripCounterRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Value("${app.calendar.event-duration:1h}")
+    private Duration eventDuration;
+    
+    // Larger event blocks are streamed on every miss instead of being kept
+    @Value("${app.calendar.cache.max-entry-size:256KB}")
+    private DataSize maxEntrySize;
+    
+    private final BoundedTtlCache<Long, TripEvents> eventCache;
+    
+    public CalendarFeedService(@Value("${app.calendar.cache.max-size:1000}") int maxSize,
+                               @Value("${app.calendar.cache.ttl:1h}") Duration ttl) {
+        this.eventCache = new BoundedTtlCache<>(maxSize, ttl);
+    }
+    
+    // Feed token for one trip, or for all of the user's trips when tripId is null
+    public String createFeedToken(String userEmail, Long tripId) {
+        Long userId = userService.getUserIdByEmail(userEmail);
+        Object[] state = findFeedState(userId, tripId);
+        if (state == null) {
+            throw tripId != null
+                    ? new ResourceNotFoundException("Trip", "id", tripId)
+                    : new ResourceNotFoundException("User", "id", userId);
+        }
+        return tokenProvider.generateCalendarToken(userId, userEmail, tripId, ((Number) state[1]).intValue());
+    }
+    
+    /**
+     * Returns the user the feed token was issued to; a trip token is only good for its own trip. Feed tokens
+     * are checked here rather than through the bearer-token revocation filter: they never expire, so that
+     * filter would have to keep every user who ever changed a password.
+     */
+    public Long verifyFeedToken(String token, Long tripId) {
+        Claims claims = tokenProvider.parseToken(token);
+        if (claims == null || !tokenProvider.isCalendarToken(claims)
+                || !Objects.equals(tokenProvider.getTripId(claims), tripId)) {
+            throw new InvalidTokenException("Invalid calendar token");
+        }
+        
+        Long userId = tokenProvider.getUserId(claims);
+        Object[] state = userId != null ? findFeedState(userId, tripId) : null;
+        if (state == null
+                || tokenProvider.isIssuedBefore(claims, (LocalDateTime) state[0])
+                || tokenProvider.getFeedGeneration(claims) != ((Number) state[1]).intValue()) {
+            throw new InvalidTokenException("Invalid calendar token");
+        }
+        return userId;
+    }
+    
+    // Revokes every feed URL handed out so far for the trip, or for the all-trips feed when tripId is null
+    @Transactional
+    public void revokeFeedLinks(String userEmail, Long tripId) {
+        Long userId = userService.getUserIdByEmail(userEmail);
+        if (tripId == null) {
+            userRepository.incrementCalendarFeedGeneration(userId);
+        } else if (tripCounterRepository.incrementCalendarFeedGeneration(tripId, userId) == 0) {
+            throw new ResourceNotFoundException("Trip", "id", tripId);
+        }
+    }
+    
+    public String getTripFeedETag(Long tripId, Long userId) {
+        Long version = tripRepository.findVersionByIdAndUserId(tripId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Trip", "id", tripId));
+        return "\"ics-" + tripId + "-" + version + "\"";
+    }
+    
+    public String getUserFeedETag(Long userId) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            for (Object[] row : tripRepository.findVersionsByUserId(userId)) {
+                sha256.update((row[0] + ":" + row[1] + ",").getBytes(StandardCharsets.US_ASCII));
+            }
+            return "\"ics-u" + userId + "-" + HexFormat.of().formatHex(sha256.digest(), 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+    
+    @Transactional(readOnly = true)
+    public void writeTripFeed(Long tripId, Long userId, OutputStream outputStream) throws IOException {
+        // Read in the same snapshot as the destinations, so the cached block matches its version
+        Long version = tripRepository.findVersionByIdAndUserId(tripId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Trip", "id", tripId));
+        Trip trip = tripRepository.findById(tripId)
+                .orElseThrow(() -> new ResourceNotFoundException("Trip", "id", tripId));
+        
+        ICalendarWriter calendar = new ICalendarWriter(outputStream);
+        beginCalendar(calendar, trip.getTitle());
+        writeTripEvents(trip, version, outputStream);
+        calendar.end("VCALENDAR");
+        calendar.flush();
+    }
+    
+    @Transactional(readOnly = true)
+    public void writeUserFeed(Long userId, OutputStream outputStream) throws IOException {
+        ICalendarWriter calendar = new ICalendarWriter(outputStream);
+        beginCalendar(calendar, "Travel Itinerary");
+        // The cursor bypasses the second-level cache, so each trip's version is the committed one
+        try (Stream<Trip> trips = tripRepository.streamByUserId(userId)) {
+            for (Iterator<Trip> tripRows = trips.iterator(); tripRows.hasNext(); ) {
+                Trip trip = tripRows.next();
+                if (writeTripEvents(trip, trip.getVersion(), outputStream)) {
+                    entityManager.clear();
+                }
+            }
+        }
+        calendar.end("VCALENDAR");
+        calendar.flush();
+    }
+    
+    // Returns whether destinations had to be loaded
+    private boolean writeTripEvents(Trip trip, Long version, OutputStream outputStream) throws IOException {
+        TripEvents cached = eventCache.get(trip.getId());
+        if (cached != null && cached.version == version) {
+            outputStream.write(cached.events);
+            return false;
+        }
+        
+        CapturingOutputStream capture = new CapturingOutputStream(outputStream, maxEntrySize.toBytes());
+        ICalendarWriter events = new ICalendarWriter(capture);
+        writeTripEvent(events, trip);
+        try (Stream<Destination> destinations = destinationRepository.streamByTripId(trip.getId())) {
+            for (Iterator<Destination> rows = destinations.iterator(); rows.hasNext(); ) {
+                writeDestinationEvent(events, rows.next());
+            }
+        }
+        if (capture.isComplete()) {
+            eventCache.put(trip.getId(), new TripEvents(version, capture.getCaptured()));
+        }
+        return true;
+    }
+    
+    private void beginCalendar(ICalendarWriter calendar, String name) throws IOException {
+        calendar.begin("VCALENDAR");
+        calendar.property("VERSION", "2.0");
+        calendar.property("PRODID", "-//Travel Itinerary Planner//Trips//EN");
+        calendar.property("CALSCALE", "GREGORIAN");
+        calendar.property("METHOD", "PUBLISH");
+        calendar.text("X-WR-CALNAME", name);
+    }
+    
+    // The whole trip as one all-day event that does not block time
+    private void writeTripEvent(ICalendarWriter calendar, Trip trip) throws IOException {
+        calendar.begin("VEVENT");
+        calendar.property("UID", "trip-" + trip.getId() + UID_DOMAIN);
+        calendar.timestamp("DTSTAMP", lastChanged(trip.getCreatedAt(), trip.getUpdatedAt()));
+        calendar.date("DTSTART", trip.getStartDate());
+        calendar.date("DTEND", trip.getEndDate().plusDays(1));
+        calendar.text("SUMMARY", trip.getTitle());
+        calendar.text("DESCRIPTION", trip.getDescription());
+        calendar.property("TRANSP", "TRANSPARENT");
+        calendar.end("VEVENT");
+    }
+    
+    // Timed destinations last app.calendar.event-duration; the rest are all-day events
+    private void writeDestinationEvent(ICalendarWriter calendar, Destination destination) throws IOException {
+        calendar.begin("VEVENT");
+        calendar.property("UID", "destination-" + destination.getId() + UID_DOMAIN);
+        calendar.timestamp("DTSTAMP", lastChanged(destination.getCreatedAt(), destination.getUpdatedAt()));
+        if (destination.getTime() != null) {
+            LocalDateTime start = destination.getDate().atTime(destination.getTime());
+            calendar.dateTime("DTSTART", start);
+            calendar.dateTime("DTEND", start.plus(eventDuration));
+        } else {
+            calendar.date("DTSTART", destination.getDate());
+            calendar.date("DTEND", destination.getDate().plusDays(1));
+        }
+        calendar.text("SUMMARY", destination.getName());
+        calendar.text("LOCATION", destination.getAddress());
+        calendar.text("DESCRIPTION", joinText(destination.getDescription(), destination.getNotes()));
+        if (destination.hasCoordinates()) {
+            calendar.property("GEO", destination.getLatitude() + ";" + destination.getLongitude());
+        }
+        calendar.end("VEVENT");
+    }
+    
+    // The owner's tokens_not_before and the feed's generation, or null when the trip is not the user's
+    private Object[] findFeedState(Long userId, Long tripId) {
+        List<Object[]> rows = tripId != null
+                ? tripRepository.findCalendarFeedState(tripId, userId)
+                : userRepository.findCalendarFeedState(userId);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+    
+    private static LocalDateTime lastChanged(LocalDateTime createdAt, LocalDateTime updatedAt) {
+        return updatedAt != null ? updatedAt : createdAt;
+    }
+    
+    private static String joinText(String first, String second) {
+        if (first == null || first.isBlank()) {
+            return second;
+        }
+        if (second == null || second.isBlank()) {
+            return first;
+        }
+        return first + "\n\n" + second;
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("calendar.cache.requests", eventCache, BoundedTtlCache::getHitCount)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("calendar.cache.requests", eventCache, BoundedTtlCache::getMissCount)
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("calendar.cache.size", eventCache, BoundedTtlCache::size)
+                .register(registry);
+    }
+    
+    private record TripEvents(long version, byte[] events) {}
+    
+    // Passes everything through and keeps a copy until the limit is passed
+    private static class CapturingOutputStream extends FilterOutputStream {
+        
+        private final long limit;
+        
+        private ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        
+        CapturingOutputStream(OutputStream out, long limit) {
+            super(out);
+            this.limit = limit;
+        }
+        
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            capture(new byte[] {(byte) b}, 0, 1);
+        }
+        
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            capture(b, off, len);
+        }
+        
+        private void capture(byte[] b, int off, int len) {
+            if (captured != null) {
+                if (captured.size() + len > limit) {
+                    captured = null;
+                } else {
+                    captured.write(b, off, len);
+                }
+            }
+        }
+        
+        boolean isComplete() {
+            return captured != null;
+        }
+        
+        byte[] getCaptured() {
+            return captured.toByteArray();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,133 @@
+package com.travelitinerary.planner.service;
+
+import com.travelitinerary.planner.exception.ResourceNotFoundException;
+import com.travelitinerary.planner.model.Destination;
+import com.travelitinerary.planner.repository.DestinationRepository;
+import com.travelitinerary.planner.repository.TripCounterRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Gapped ordering for a trip's destinations.
+ * Order indexes are handed out {@link #ORDER_GAP} apart from a per-trip sequence advanced with an atomic
+ * UPDATE, so concurrent appends never collide. A move takes the midpoint of its new neighbours and
+ * rewrites only the moved row; the trip is renumbered only when a gap has been exhausted or an index
+ * would leave {@code [-MAX_ORDER_INDEX, MAX_ORDER_INDEX]}. Renumbering starts again from {@link #ORDER_GAP}
+ * and rewinds the sequence, so indexes stay bounded however many moves and appends a trip sees.
+ */
+@Service
+public class DestinationOrderService {
+    
+    public static final int ORDER_GAP = 1024;
+    
+    // Half the int range, leaving room below the lowest index for parking and above the highest for reservations
+    static final int MAX_ORDER_INDEX = Integer.MAX_VALUE / 2;
+    
+    @Autowired
+    private TripCounterRepository tripCounterRepository;
+    
+    @Autowired
+    private DestinationRepository destinationRepository;
+    
+    /**
+     * Reserves {@code count} consecutive slots at the end of the trip and returns the first one.
+     * Must run inside the caller's transaction: the row lock taken by the UPDATE is what serializes appends.
+     */
+    @Transactional
+    public int reserve(Long tripId, int count) {
+        tripCounterRepository.initializeDestinationOrderSeq(tripId);
+        tripCounterRepository.advanceDestinationOrderSeq(tripId, count * ORDER_GAP);
+        int last = tripCounterRepository.findDestinationOrderSeq(tripId);
+        if (last > MAX_ORDER_INDEX) {
+            // The UPDATE above holds the trip row lock, so the trip can be compacted before handing out slots
+            renumber(tripId);
+            tripCounterRepository.advanceDestinationOrderSeq(tripId, count * ORDER_GAP);
+            last = tripCounterRepository.findDestinationOrderSeq(tripId);
+        }
+        return last - (count - 1) * ORDER_GAP;
+    }
+    
+    /**
+     * Moves the given destinations of the trip onto temporary slots below every index in use, so their final
+     * indexes can then be assigned in any order without tripping the unique (trip_id, order_index) constraint.
+     * Consumes no slots: every index handed out later is above the parked ones.
+     */
+    @Transactional
+    public void park(Long tripId, List<Destination> destinations) {
+        Integer lowest = destinationRepository.findMinOrderIndexByTripId(tripId);
+        int parking = Math.min(lowest != null ? lowest : 0, 0) - destinations.size();
+        for (Destination destination : destinations) {
+            destination.setOrderIndex(parking++);
+        }
+        destinationRepository.flush();
+    }
+    
+    /**
+     * Moves a destination directly after {@code afterId}, or to the front when {@code afterId} is null.
+     * Callers must hold the trip lock so concurrent moves cannot pick the same slot.
+     */
+    @Transactional
+    public Destination moveAfter(Long tripId, Long destinationId, Long afterId) {
+        Destination destination = destinationRepository.findByIdAndTripId(destinationId, tripId)
+                .orElseThrow(() -> new ResourceNotFoundException("Destination", "id", destinationId));
+        if (destinationId.equals(afterId)) {
+            return destination;
+        }
+        
+        Integer newIndex = findSlot(tripId, destination, afterId);
+        if (newIndex == null) {
+            renumber(tripId);
+            newIndex = findSlot(tripId, destination, afterId);
+        }
+        
+        destination.setOrderIndex(newIndex);
+        return destination;
+    }
+    
+    // Returns the index to move to, the current index if already in place, or null when no gap is left
+    private Integer findSlot(Long tripId, Destination destination, Long afterId) {
+        Integer previousIndex = null;
+        List<Destination> next;
+        if (afterId == null) {
+            next = destinationRepository.findFirstInOrder(tripId, destination.getId(), PageRequest.of(0, 1));
+        } else {
+            Destination previous = destinationRepository.findByIdAndTripId(afterId, tripId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Destination", "id", afterId));
+            previousIndex = previous.getOrderIndex();
+            next = destinationRepository.findNextInOrder(tripId, previousIndex, destination.getId(), PageRequest.of(0, 1));
+        }
+        Integer nextIndex = next.isEmpty() ? null : next.get(0).getOrderIndex();
+        int current = destination.getOrderIndex();
+        
+        if ((previousIndex == null || current > previousIndex) && (nextIndex == null || current < nextIndex)) {
+            return current;
+        }
+        if (nextIndex == null) {
+            return reserve(tripId, 1);
+        }
+        if (previousIndex == null) {
+            return nextIndex - ORDER_GAP >= -MAX_ORDER_INDEX ? nextIndex - ORDER_GAP : null;
+        }
+        if (nextIndex - previousIndex < 2) {
+            return null;
+        }
+        return previousIndex + (nextIndex - previousIndex) / 2;
+    }
+    
+    // Renumbers in place from ORDER_GAP, parking the rows first, and rewinds the sequence to the new maximum
+    private void renumber(Long tripId) {
+        List<Destination> destinations = destinationRepository.findByTripIdOrderByOrderIndexAsc(tripId);
+        park(tripId, destinations);
+        int index = 0;
+        for (Destination destination : destinations) {
+            index += ORDER_GAP;
+            destination.setOrderIndex(index);
+        }
+        destinationRepository.flush();
+        tripCounterRepository.resetDestinationOrderSeq(tripId, index);
+    }
+}
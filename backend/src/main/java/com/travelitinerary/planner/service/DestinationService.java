@@ -1,14 +1,26 @@
 package com.travelitinerary.planner.service;
 
+import com.travelitinerary.planner.config.PaginationProperties;
+import com.travelitinerary.planner.dto.CursorPage;
+import com.travelitinerary.planner.dto.DestinationOrderRequest;
 import com.travelitinerary.planner.dto.DestinationRequest;
 import com.travelitinerary.planner.dto.DestinationResponse;
+import com.travelitinerary.planner.exception.BadRequestException;
 import com.travelitinerary.planner.exception.ResourceNotFoundException;
 import com.travelitinerary.planner.model.Destination;
 import com.travelitinerary.planner.model.Trip;
 import com.travelitinerary.planner.repository.DestinationRepository;
+import com.travelitinerary.planner.repository.TripRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -19,18 +31,46 @@ public class DestinationService {
     private DestinationRepository destinationRepository;
     
     @Autowired
-    private TripService tripService;
+    private TripOwnershipService tripOwnershipService;
     
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private UserStatsService userStatsService;
+    
+    @Autowired
+    private PaginationProperties paginationProperties;
+    
+    @Autowired
+    private TripRepository tripRepository;
+    
+    @Autowired
+    private DestinationOrderService destinationOrderService;
+    
+    @Autowired
+    private TripVersionService tripVersionService;
+    
+    @Autowired
+    private SearchService searchService;
+    
+    @Autowired
+    private Gazetteer gazetteer;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+    
+    @Transactional
     public DestinationResponse createDestination(Long tripId, DestinationRequest destinationRequest, String userEmail) {
         // Verify trip exists and belongs to user
-        tripService.getTripById(tripId, userEmail);
+        Long userId = userService.getUserIdByEmail(userEmail);
+        tripOwnershipService.verifyOwnership(tripId, userId);
         
-        // Get the next order index
-        Integer maxOrderIndex = destinationRepository.findMaxOrderIndexByTripId(tripId);
-        int nextOrderIndex = (maxOrderIndex != null) ? maxOrderIndex + 1 : 1;
+        // Atomically reserve the next order index
+        int nextOrderIndex = destinationOrderService.reserve(tripId, 1);
         
         Destination destination = new Destination();
         destination.setName(destinationRequest.getName());
@@ -39,6 +79,7 @@ public class DestinationService {
         destination.setTime(destinationRequest.getTime());
         destination.setNotes(destinationRequest.getNotes());
         destination.setAddress(destinationRequest.getAddress());
+        applyCoordinates(destination, destinationRequest);
         destination.setOrderIndex(nextOrderIndex);
         
         // Set the trip
@@ -47,6 +88,9 @@ public class DestinationService {
         destination.setTrip(trip);
         
         Destination savedDestination = destinationRepository.save(destination);
+        tripVersionService.bump(tripId);
+        searchService.onDestinationSaved(savedDestination, tripId);
+        userStatsService.onDestinationsAdded(userId, 1);
         
         return new DestinationResponse(
                 savedDestination.getId(),
@@ -57,17 +101,61 @@ public class DestinationService {
                 savedDestination.getNotes(),
                 savedDestination.getAddress(),
                 savedDestination.getOrderIndex(),
+                savedDestination.getLatitude(),
+                savedDestination.getLongitude(),
                 savedDestination.getCreatedAt(),
                 savedDestination.getUpdatedAt()
         );
     }
     
+    @Transactional
+    public List<DestinationResponse> createDestinations(Long tripId, List<DestinationRequest> destinationRequests, String userEmail) {
+        // Verify trip exists and belongs to user once for the whole import
+        Long userId = userService.getUserIdByEmail(userEmail);
+        tripOwnershipService.verifyOwnership(tripId, userId);
+        
+        // Reserve order indexes for every destination with a single atomic update
+        int nextOrderIndex = destinationOrderService.reserve(tripId, destinationRequests.size());
+        Trip trip = tripRepository.getReferenceById(tripId);
+        
+        List<DestinationResponse> responses = new ArrayList<>(destinationRequests.size());
+        List<Destination> pending = new ArrayList<>(batchSize);
+        for (DestinationRequest destinationRequest : destinationRequests) {
+            Destination destination = new Destination(
+                    destinationRequest.getName(),
+                    destinationRequest.getDescription(),
+                    destinationRequest.getDate(),
+                    destinationRequest.getTime(),
+                    destinationRequest.getNotes(),
+                    destinationRequest.getAddress(),
+                    nextOrderIndex,
+                    trip
+            );
+            applyCoordinates(destination, destinationRequest);
+            nextOrderIndex += DestinationOrderService.ORDER_GAP;
+            
+            entityManager.persist(destination);
+            pending.add(destination);
+            if (pending.size() >= batchSize) {
+                flushBatch(pending, responses);
+                // The clear detached the trip reference
+                trip = tripRepository.getReferenceById(tripId);
+            }
+        }
+        flushBatch(pending, responses);
+        tripVersionService.bump(tripId);
+        
+        userStatsService.onDestinationsAdded(userId, responses.size());
+        return responses;
+    }
+    
+    @Transactional
     public DestinationResponse updateDestination(Long destinationId, DestinationRequest destinationRequest, String userEmail) {
         Destination destination = destinationRepository.findById(destinationId)
                 .orElseThrow(() -> new ResourceNotFoundException("Destination", "id", destinationId));
         
         // Verify trip belongs to user
-        tripService.getTripById(destination.getTrip().getId(), userEmail);
+        tripOwnershipService.verifyOwnership(destination.getTrip().getId(), userEmail);
         
         destination.setName(destinationRequest.getName());
         destination.setDescription(destinationRequest.getDescription());
@@ -75,8 +163,11 @@ public class DestinationService {
         destination.setTime(destinationRequest.getTime());
         destination.setNotes(destinationRequest.getNotes());
         destination.setAddress(destinationRequest.getAddress());
+        applyCoordinates(destination, destinationRequest);
         
         Destination updatedDestination = destinationRepository.save(destination);
+        tripVersionService.bump(updatedDestination.getTrip().getId());
+        searchService.onDestinationSaved(updatedDestination, updatedDestination.getTrip().getId());
         
         return new DestinationResponse(
                 updatedDestination.getId(),
@@ -87,40 +178,125 @@ public class DestinationService {
                 updatedDestination.getNotes(),
                 updatedDestination.getAddress(),
                 updatedDestination.getOrderIndex(),
+                updatedDestination.getLatitude(),
+                updatedDestination.getLongitude(),
                 updatedDestination.getCreatedAt(),
                 updatedDestination.getUpdatedAt()
         );
     }
     
+    @Transactional
     public void deleteDestination(Long destinationId, String userEmail) {
         Destination destination = destinationRepository.findById(destinationId)
                 .orElseThrow(() -> new ResourceNotFoundException("Destination", "id", destinationId));
         
         // Verify trip belongs to user
-        tripService.getTripById(destination.getTrip().getId(), userEmail);
+        Long userId = userService.getUserIdByEmail(userEmail);
+        tripOwnershipService.verifyOwnership(destination.getTrip().getId(), userId);
         
         destinationRepository.delete(destination);
+        tripVersionService.bump(destination.getTrip().getId());
+        searchService.onDestinationDeleted(destinationId, destination.getTrip().getId());
+        userStatsService.onDestinationsRemoved(userId, 1);
+    }
+    
+    @Transactional
+    public List<DestinationResponse> reorderDestinations(Long tripId, List<DestinationOrderRequest.Move> moves, String userEmail) {
+        Long userId = userService.getUserIdByEmail(userEmail);
+        // Locking the trip row serializes reorders with each other and with appends to this trip
+        tripRepository.findByIdAndUserIdForUpdate(tripId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Trip", "id", tripId));
+        
+        List<Destination> moved = new ArrayList<>(moves.size());
+        for (DestinationOrderRequest.Move move : moves) {
+            moved.add(destinationOrderService.moveAfter(tripId, move.getDestinationId(), move.getAfterId()));
+        }
+        destinationRepository.flush();
+        tripVersionService.bump(tripId);
+        
+        return moved.stream()
+                .map(this::convertToDestinationResponse)
+                .collect(Collectors.toList());
     }
     
-    public List<DestinationResponse> getTripDestinations(Long tripId, String userEmail) {
+    public CursorPage<DestinationResponse> getTripDestinations(Long tripId, String userEmail, String cursor, Integer limit) {
         // Verify trip exists and belongs to user
-        tripService.getTripById(tripId, userEmail);
-        
-        List<Destination> destinations = destinationRepository.findByTripIdOrderByOrderIndexAsc(tripId);
-        
-        return destinations.stream()
-                .map(destination -> new DestinationResponse(
-                        destination.getId(),
-                        destination.getName(),
-                        destination.getDescription(),
-                        destination.getDate(),
-                        destination.getTime(),
-                        destination.getNotes(),
-                        destination.getAddress(),
-                        destination.getOrderIndex(),
-                        destination.getCreatedAt(),
-                        destination.getUpdatedAt()
-                ))
+        tripOwnershipService.verifyOwnership(tripId, userEmail);
+        
+        int pageSize = paginationProperties.resolvePageSize(limit);
+        // Fetch one extra row to learn whether another page follows
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+        
+        List<Destination> destinations;
+        if (cursor == null || cursor.isEmpty()) {
+            destinations = destinationRepository.findPageByTripId(tripId, pageable);
+        } else {
+            String[] keys = CursorPage.decodeCursor(cursor, 2);
+            destinations = destinationRepository.findPageByTripIdAfter(
+                    tripId, parseCursorKey(keys[0]).intValue(), parseCursorKey(keys[1]), pageable);
+        }
+        
+        String nextCursor = null;
+        if (destinations.size() > pageSize) {
+            destinations = destinations.subList(0, pageSize);
+            Destination last = destinations.get(pageSize - 1);
+            nextCursor = CursorPage.encodeCursor(last.getOrderIndex(), last.getId());
+        }
+        
+        List<DestinationResponse> items = destinations.stream()
+                .map(this::convertToDestinationResponse)
                 .collect(Collectors.toList());
+        return new CursorPage<>(items, nextCursor);
+    }
+    
+    private void flushBatch(List<Destination> pending, List<DestinationResponse> responses) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        // Flushing sends one JDBC batch; clearing keeps the persistence context from growing with the import
+        entityManager.flush();
+        for (Destination destination : pending) {
+            responses.add(convertToDestinationResponse(destination));
+            searchService.onDestinationSaved(destination, destination.getTrip().getId());
+        }
+        entityManager.clear();
+        pending.clear();
+    }
+    
+    // Explicit coordinates win; otherwise the name and address are looked up in the gazetteer
+    private void applyCoordinates(Destination destination, DestinationRequest destinationRequest) {
+        if (destinationRequest.getLatitude() != null && destinationRequest.getLongitude() != null) {
+            destination.setLatitude(destinationRequest.getLatitude());
+            destination.setLongitude(destinationRequest.getLongitude());
+            return;
+        }
+        Gazetteer.Place place = gazetteer.locate(destination.getName(), destination.getAddress()).orElse(null);
+        destination.setLatitude(place == null ? null : place.latitude());
+        destination.setLongitude(place == null ? null : place.longitude());
+    }
+    
+    DestinationResponse convertToDestinationResponse(Destination destination) {
+        return new DestinationResponse(
+                destination.getId(),
+                destination.getName(),
+                destination.getDescription(),
+                destination.getDate(),
+                destination.getTime(),
+                destination.getNotes(),
+                destination.getAddress(),
+                destination.getOrderIndex(),
+                destination.getLatitude(),
+                destination.getLongitude(),
+                destination.getCreatedAt(),
+                destination.getUpdatedAt()
+        );
+    }
+    
+    private Long parseCursorKey(String value) {
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid cursor", e);
+        }
     }
 } 
\ No newline at end of file
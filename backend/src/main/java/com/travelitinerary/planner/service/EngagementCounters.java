@@ -0,0 +1,124 @@
+package com.travelitinerary.planner.service;
+
+import com.travelitinerary.planner.repository.TripEngagementRepository;
+import com.travelitinerary.planner.repository.TripEngagementRepository.CounterDelta;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Absorbs like and view increments in per-trip {@link LongAdder}s and writes them to the trips table in
+ * JDBC batches on a fixed delay, instead of one UPDATE per view. Draining subtracts exactly what was read,
+ * so increments that race with a flush are carried over to the next one rather than lost.
+ */
+@Component
+public class EngagementCounters implements MeterBinder {
+    
+    private static final Logger logger = LoggerFactory.getLogger(EngagementCounters.class);
+    
+    private final ConcurrentHashMap<Long, Counts> pending = new ConcurrentHashMap<>();
+    
+    private final LongAdder flushedRows = new LongAdder();
+    
+    @Autowired
+    private TripEngagementRepository tripEngagementRepository;
+    
+    @Autowired
+    private TrendingIndex trendingIndex;
+    
+    @Value("${app.explore.flush-batch-size:500}")
+    private int batchSize;
+    
+    public void recordView(Long tripId) {
+        counts(tripId).views.increment();
+    }
+    
+    public void recordLike(Long tripId, int delta) {
+        counts(tripId).likes.add(delta);
+    }
+    
+    // Increments not yet written, as {likes, views}
+    public long[] getPending(Long tripId) {
+        Counts counts = pending.get(tripId);
+        return counts == null ? new long[2] : new long[] {counts.likes.sum(), counts.views.sum()};
+    }
+    
+    @Scheduled(fixedDelayString = "${app.explore.flush-interval:5s}")
+    public synchronized void flush() {
+        Map<Long, long[]> drained = new HashMap<>();
+        for (Map.Entry<Long, Counts> entry : pending.entrySet()) {
+            Counts counts = entry.getValue();
+            long likes = counts.likes.sum();
+            long views = counts.views.sum();
+            if (likes == 0 && views == 0) {
+                continue;
+            }
+            counts.likes.add(-likes);
+            counts.views.add(-views);
+            drained.put(entry.getKey(), new long[] {likes, views});
+        }
+        if (drained.isEmpty()) {
+            return;
+        }
+        
+        List<CounterDelta> deltas = new ArrayList<>(drained.size());
+        drained.forEach((tripId, delta) -> deltas.add(new CounterDelta(tripId, delta[0], delta[1])));
+        try {
+            tripEngagementRepository.addCounts(deltas, batchSize);
+        } catch (DataAccessException e) {
+            // Put the increments back so the next flush retries them
+            drained.forEach((tripId, delta) -> {
+                Counts counts = counts(tripId);
+                counts.likes.add(delta[0]);
+                counts.views.add(delta[1]);
+            });
+            logger.warn("Could not flush engagement counters for {} trips, will retry", drained.size(), e);
+            return;
+        }
+        flushedRows.add(deltas.size());
+        trendingIndex.addAll(drained);
+    }
+    
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+    
+    public void forget(Long tripId) {
+        pending.remove(tripId);
+    }
+    
+    private Counts counts(Long tripId) {
+        Counts counts = pending.get(tripId);
+        return counts != null ? counts : pending.computeIfAbsent(tripId, id -> new Counts());
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("explore.counters.flushed.rows", flushedRows, LongAdder::sum)
+                .description("Trip rows updated by engagement counter flushes")
+                .register(registry);
+    }
+    
+    private static class Counts {
+        
+        final LongAdder likes = new LongAdder();
+        
+        final LongAdder views = new LongAdder();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,223 @@
+package com.travelitinerary.planner.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.travelitinerary.planner.dto.ExpenseRequest;
+import com.travelitinerary.planner.dto.ExpenseResponse;
+import com.travelitinerary.planner.dto.ExpenseTotalsResponse;
+import com.travelitinerary.planner.exception.ResourceNotFoundException;
+import com.travelitinerary.planner.model.Expense;
+import com.travelitinerary.planner.model.ExpenseTotal;
+import com.travelitinerary.planner.model.Trip;
+import com.travelitinerary.planner.repository.ExpenseRepository;
+import com.travelitinerary.planner.repository.ExpenseTotalRepository;
+import com.travelitinerary.planner.repository.TripRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+@Service
+public class ExpenseService {
+    
+    @Autowired
+    private ExpenseRepository expenseRepository;
+    
+    @Autowired
+    private ExpenseTotalRepository expenseTotalRepository;
+    
+    @Autowired
+    private TripRepository tripRepository;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private UserStatsService userStatsService;
+    
+    @Autowired
+    private TripOwnershipService tripOwnershipService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Transactional
+    public ExpenseResponse createExpense(Long tripId, ExpenseRequest expenseRequest, String userEmail) {
+        Long userId = userService.getUserIdByEmail(userEmail);
+        Trip trip = lockOwnedTrip(tripId, userId);
+        
+        Expense expense = new Expense(
+                expenseRequest.getDescription(),
+                expenseRequest.getAmount(),
+                normalizeCategory(expenseRequest.getCategory()),
+                expenseRequest.getDate(),
+                expenseRequest.getPaidBy(),
+                trip
+        );
+        Expense savedExpense = expenseRepository.save(expense);
+        
+        addToTotal(tripId, savedExpense.getCategory(), savedExpense.getAmount(), 1);
+        userStatsService.onExpensesChanged(userId, savedExpense.getAmount());
+        
+        return convertToExpenseResponse(savedExpense);
+    }
+    
+    @Transactional
+    public ExpenseResponse updateExpense(Long tripId, Long expenseId, ExpenseRequest expenseRequest, String userEmail) {
+        Long userId = userService.getUserIdByEmail(userEmail);
+        lockOwnedTrip(tripId, userId);
+        
+        Expense expense = expenseRepository.findByIdAndTripId(expenseId, tripId)
+                .orElseThrow(() -> new ResourceNotFoundException("Expense", "id", expenseId));
+        
+        String previousCategory = expense.getCategory();
+        BigDecimal previousAmount = expense.getAmount();
+        
+        expense.setDescription(expenseRequest.getDescription());
+        expense.setAmount(expenseRequest.getAmount());
+        expense.setCategory(normalizeCategory(expenseRequest.getCategory()));
+        expense.setDate(expenseRequest.getDate());
+        expense.setPaidBy(expenseRequest.getPaidBy());
+        Expense updatedExpense = expenseRepository.save(expense);
+        
+        addToTotal(tripId, previousCategory, previousAmount.negate(), -1);
+        addToTotal(tripId, updatedExpense.getCategory(), updatedExpense.getAmount(), 1);
+        userStatsService.onExpensesChanged(userId, updatedExpense.getAmount().subtract(previousAmount));
+        
+        return convertToExpenseResponse(updatedExpense);
+    }
+    
+    @Transactional
+    public void deleteExpense(Long tripId, Long expenseId, String userEmail) {
+        Long userId = userService.getUserIdByEmail(userEmail);
+        lockOwnedTrip(tripId, userId);
+        
+        Expense expense = expenseRepository.findByIdAndTripId(expenseId, tripId)
+                .orElseThrow(() -> new ResourceNotFoundException("Expense", "id", expenseId));
+        
+        expenseRepository.delete(expense);
+        addToTotal(tripId, expense.getCategory(), expense.getAmount().negate(), -1);
+        userStatsService.onExpensesChanged(userId, expense.getAmount().negate());
+    }
+    
+    @Transactional(readOnly = true)
+    public ExpenseTotalsResponse getExpenseTotals(Long tripId, String userEmail) {
+        verifyTripAccess(tripId, userEmail);
+        
+        // Reads the maintained per-category totals; the expense rows are never scanned
+        BigDecimal total = BigDecimal.ZERO;
+        int count = 0;
+        List<ExpenseTotalsResponse.CategoryTotal> categories = new ArrayList<>();
+        for (ExpenseTotal categoryTotal : expenseTotalRepository.findByTripIdOrderByCategoryAsc(tripId)) {
+            if (categoryTotal.getExpenseCount() == 0) {
+                continue;
+            }
+            total = total.add(categoryTotal.getAmount());
+            count += categoryTotal.getExpenseCount();
+            categories.add(new ExpenseTotalsResponse.CategoryTotal(
+                    categoryTotal.getCategory(),
+                    categoryTotal.getAmount(),
+                    categoryTotal.getExpenseCount()
+            ));
+        }
+        
+        return new ExpenseTotalsResponse(tripId, total, count, categories);
+    }
+    
+    public void verifyTripAccess(Long tripId, String userEmail) {
+        tripOwnershipService.verifyOwnership(tripId, userEmail);
+    }
+    
+    /**
+     * Writes {@code {"expenses":[...]}} for the trip straight to the output stream, reading the rows
+     * through a forward-only cursor and detaching each one once written.
+     * Callers must check access with {@link #verifyTripAccess} before the response is committed.
+     */
+    @Transactional(readOnly = true)
+    public void writeTripExpenses(Long tripId, OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(ExpenseResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+             Stream<Expense> expenses = expenseRepository.streamByTripId(tripId)) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("expenses");
+            expenses.forEach(expense -> {
+                try {
+                    writer.writeValue(generator, convertToExpenseResponse(expense, tripId));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                entityManager.detach(expense);
+            });
+            generator.writeEndArray();
+            generator.writeEndObject();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+    
+    /**
+     * Removes every expense and running total of a trip that is about to be deleted.
+     * Returns the amount that was removed so the caller can adjust the owner's stats.
+     */
+    @Transactional
+    public BigDecimal deleteTripExpenses(Long tripId) {
+        BigDecimal removed = BigDecimal.ZERO;
+        for (ExpenseTotal categoryTotal : expenseTotalRepository.findByTripIdOrderByCategoryAsc(tripId)) {
+            removed = removed.add(categoryTotal.getAmount());
+        }
+        expenseRepository.deleteByTripId(tripId);
+        expenseTotalRepository.deleteByTripId(tripId);
+        return removed;
+    }
+    
+    private Trip lockOwnedTrip(Long tripId, Long userId) {
+        // Serializes expense writes per trip so the running totals can be upserted safely
+        return tripRepository.findByIdAndUserIdForUpdate(tripId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Trip", "id", tripId));
+    }
+    
+    private void addToTotal(Long tripId, String category, BigDecimal amount, int count) {
+        if (expenseTotalRepository.addToTotal(tripId, category, amount, count) == 0) {
+            expenseTotalRepository.save(new ExpenseTotal(tripId, category, amount, count));
+        }
+    }
+    
+    private String normalizeCategory(String category) {
+        return category.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    private ExpenseResponse convertToExpenseResponse(Expense expense) {
+        return convertToExpenseResponse(expense, expense.getTrip().getId());
+    }
+    
+    private ExpenseResponse convertToExpenseResponse(Expense expense, Long tripId) {
+        return new ExpenseResponse(
+                expense.getId(),
+                tripId,
+                expense.getDescription(),
+                expense.getAmount(),
+                expense.getCategory(),
+                expense.getDate(),
+                expense.getPaidBy(),
+                expense.getCreatedAt(),
+                expense.getUpdatedAt()
+        );
+    }
+}
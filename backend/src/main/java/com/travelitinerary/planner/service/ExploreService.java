@@ -0,0 +1,160 @@
+package com.travelitinerary.planner.service;
+
+import com.travelitinerary.planner.dto.ExploreTripResponse;
+import com.travelitinerary.planner.exception.ResourceNotFoundException;
+import com.travelitinerary.planner.model.Trip;
+import com.travelitinerary.planner.repository.TripEngagementRepository;
+import com.travelitinerary.planner.repository.TripRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Public trips for the explore feed. Views and like counts are buffered by {@link EngagementCounters};
+ * the trending order comes from {@link TrendingIndex}.
+ */
+@Service
+public class ExploreService {
+    
+    @Autowired
+    private TripRepository tripRepository;
+    
+    @Autowired
+    private TripEngagementRepository tripEngagementRepository;
+    
+    @Autowired
+    private EngagementCounters engagementCounters;
+    
+    @Autowired
+    private TrendingIndex trendingIndex;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private DestinationService destinationService;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadRanking() {
+        trendingIndex.reload();
+    }
+    
+    public List<ExploreTripResponse> getTrendingTrips(Integer limit, String userEmail) {
+        int size = limit == null ? 20 : Math.max(1, Math.min(limit, trendingIndex.getTopK()));
+        List<Long> tripIds = trendingIndex.top(size);
+        if (tripIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        Map<Long, ExploreTripResponse> summaries = tripRepository.findPublicSummariesByIds(tripIds).stream()
+                .collect(Collectors.toMap(ExploreTripResponse::getId, Function.identity()));
+        Set<Long> liked = userEmail == null ? Set.of()
+                : tripEngagementRepository.findLikedTripIds(userService.getUserIdByEmail(userEmail), tripIds);
+        
+        // Keep the ranking order; a trip made private since the last flush simply drops out
+        List<ExploreTripResponse> trips = new ArrayList<>(tripIds.size());
+        for (Long tripId : tripIds) {
+            ExploreTripResponse trip = summaries.get(tripId);
+            if (trip != null) {
+                addPending(trip);
+                trip.setIsLiked(liked.contains(tripId));
+                trips.add(trip);
+            }
+        }
+        return trips;
+    }
+    
+    @Transactional(readOnly = true)
+    public ExploreTripResponse getPublicTrip(Long tripId, String userEmail) {
+        Trip trip = findPublicTrip(tripId);
+        engagementCounters.recordView(tripId);
+        
+        long[] counts = tripEngagementRepository.findCounts(tripId);
+        ExploreTripResponse response = new ExploreTripResponse(trip.getId(), trip.getTitle(), trip.getDescription(),
+                trip.getStartDate(), trip.getEndDate(), (long) trip.getDestinationsCount(), trip.getUser().getName(),
+                counts[0], counts[1], trip.getTags());
+        response.setDestinationsList(trip.getDestinations().stream()
+                .map(destinationService::convertToDestinationResponse)
+                .collect(Collectors.toList()));
+        addPending(response);
+        if (userEmail != null) {
+            Long userId = userService.getUserIdByEmail(userEmail);
+            response.setIsLiked(!tripEngagementRepository.findLikedTripIds(userId, List.of(tripId)).isEmpty());
+        }
+        return response;
+    }
+    
+    /**
+     * Likes the trip for the user, or removes the like if there already is one. Returns whether the trip is now liked.
+     */
+    public boolean toggleLike(Long tripId, String userEmail) {
+        findPublicTrip(tripId);
+        Long userId = userService.getUserIdByEmail(userEmail);
+        
+        if (tripEngagementRepository.removeLike(tripId, userId)) {
+            engagementCounters.recordLike(tripId, -1);
+            return false;
+        }
+        if (tripEngagementRepository.addLike(tripId, userId)) {
+            engagementCounters.recordLike(tripId, 1);
+        }
+        return true;
+    }
+    
+    public long getLikes(Long tripId) {
+        long[] counts = tripEngagementRepository.findCounts(tripId);
+        return (counts == null ? 0 : counts[0]) + engagementCounters.getPending(tripId)[0];
+    }
+    
+    // Called by TripService when a trip is published, unpublished or deleted; applied once the change commits
+    void onVisibilityChanged(Long tripId, boolean isPublic) {
+        runAfterCommit(() -> {
+            long[] counts = isPublic ? tripEngagementRepository.findCounts(tripId) : null;
+            if (counts != null) {
+                trendingIndex.put(tripId, counts[0], counts[1]);
+            } else {
+                trendingIndex.remove(tripId);
+                engagementCounters.forget(tripId);
+            }
+        });
+    }
+    
+    private Trip findPublicTrip(Long tripId) {
+        Trip trip = tripRepository.findById(tripId)
+                .orElseThrow(() -> new ResourceNotFoundException("Trip", "id", tripId));
+        if (!trip.isPublic()) {
+            throw new ResourceNotFoundException("Trip", "id", tripId);
+        }
+        return trip;
+    }
+    
+    private void addPending(ExploreTripResponse trip) {
+        long[] pending = engagementCounters.getPending(trip.getId());
+        trip.setLikes(trip.getLikes() + pending[0]);
+        trip.setViews(trip.getViews() + pending[1]);
+    }
+    
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
\ No newline at end of file
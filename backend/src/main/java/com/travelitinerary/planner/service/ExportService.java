@@ -0,0 +1,118 @@
+package com.travelitinerary.planner.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.travelitinerary.planner.dto.DestinationResponse;
+import com.travelitinerary.planner.dto.UserDto;
+import com.travelitinerary.planner.exception.ResourceNotFoundException;
+import com.travelitinerary.planner.model.Destination;
+import com.travelitinerary.planner.model.Trip;
+import com.travelitinerary.planner.model.User;
+import com.travelitinerary.planner.repository.DestinationRepository;
+import com.travelitinerary.planner.repository.TripRepository;
+import com.travelitinerary.planner.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Full-account export: every trip of a user with its destinations, as one JSON document written straight to
+ * the output stream. Trips and destinations are read through two forward-only cursors ordered by trip and
+ * merged in a single pass, and the persistence context is cleared every {@link #CHUNK_SIZE} rows, so heap use
+ * does not grow with the size of the account.
+ */
+@Service
+public class ExportService {
+    
+    // Rows between persistence-context clears; matches the cursors' JDBC fetch size
+    static final int CHUNK_SIZE = 500;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private TripRepository tripRepository;
+    
+    @Autowired
+    private DestinationRepository destinationRepository;
+    
+    @Autowired
+    private DestinationService destinationService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    /**
+     * Writes {@code {"exportedAt":...,"user":{...},"trips":[{...,"destinations":[...]}]}}. Both cursors run in
+     * one read-only transaction, so the document is a consistent snapshot even while the user keeps editing.
+     */
+    @Transactional(readOnly = true)
+    public void writeAccount(Long userId, OutputStream outputStream) throws IOException {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+        ObjectWriter destinationWriter = objectMapper.writerFor(DestinationResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+             Stream<Trip> trips = tripRepository.streamByUserId(userId);
+             Stream<Destination> destinations = destinationRepository.streamByUserId(userId)) {
+            generator.writeStartObject();
+            generator.writeObjectField("exportedAt", LocalDateTime.now());
+            generator.writeObjectField("user", new UserDto(user.getId(), user.getName(), user.getEmail(), user.getCreatedAt()));
+            generator.writeArrayFieldStart("trips");
+            
+            Iterator<Destination> destinationRows = destinations.iterator();
+            Destination destination = destinationRows.hasNext() ? destinationRows.next() : null;
+            int rows = 0;
+            for (Iterator<Trip> tripRows = trips.iterator(); tripRows.hasNext(); ) {
+                Trip trip = tripRows.next();
+                Long tripId = trip.getId();
+                writeTripFields(generator, trip);
+                
+                generator.writeArrayFieldStart("destinations");
+                // The proxy's id is read without initializing it
+                while (destination != null && tripId.equals(destination.getTrip().getId())) {
+                    destinationWriter.writeValue(generator, destinationService.convertToDestinationResponse(destination));
+                    destination = destinationRows.hasNext() ? destinationRows.next() : null;
+                    if (++rows % CHUNK_SIZE == 0) {
+                        entityManager.clear();
+                    }
+                }
+                generator.writeEndArray();
+                generator.writeEndObject();
+                if (++rows % CHUNK_SIZE == 0) {
+                    entityManager.clear();
+                }
+            }
+            
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+    
+    private void writeTripFields(JsonGenerator generator, Trip trip) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", trip.getId());
+        generator.writeStringField("title", trip.getTitle());
+        generator.writeStringField("description", trip.getDescription());
+        generator.writeObjectField("startDate", trip.getStartDate());
+        generator.writeObjectField("endDate", trip.getEndDate());
+        generator.writeBooleanField("isPublic", trip.isPublic());
+        generator.writeObjectField("tags", trip.getTagList());
+        generator.writeObjectField("createdAt", trip.getCreatedAt());
+        generator.writeObjectField("updatedAt", trip.getUpdatedAt());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,96 @@
+package com.travelitinerary.planner.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Offline place lookup backed by a tab-separated file of names and coordinates. Names are normalized the
+ * same way as search terms and matched as word sequences inside free text, preferring the longest match.
+ */
+@Component
+public class Gazetteer {
+    
+    private static final Logger logger = LoggerFactory.getLogger(Gazetteer.class);
+    
+    private final Map<String, Place> places = new HashMap<>();
+    
+    private int maxWords;
+    
+    public Gazetteer(@Value("${app.gazetteer.location:classpath:gazetteer/places.tsv}") Resource location) {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(location.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] columns = line.split("\t");
+                if (columns.length != 3) {
+                    throw new IllegalStateException("Invalid gazetteer entry at " + location + ":" + lineNumber);
+                }
+                add(new Place(columns[0].trim(), Double.parseDouble(columns[1]), Double.parseDouble(columns[2])));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read gazetteer " + location, e);
+        }
+        logger.info("Loaded {} gazetteer places from {}", places.size(), location);
+    }
+    
+    /**
+     * Finds the most specific place named in any of the texts, e.g. a destination's name and address.
+     * On equal length the earlier text wins.
+     */
+    public Optional<Place> locate(String... texts) {
+        Place best = null;
+        int bestWords = 0;
+        for (String text : texts) {
+            List<String> words = SearchIndex.tokenize(text);
+            for (int length = Math.min(maxWords, words.size()); length > bestWords; length--) {
+                Place match = find(words, length);
+                if (match != null) {
+                    best = match;
+                    bestWords = length;
+                    break;
+                }
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+    
+    private Place find(List<String> words, int length) {
+        for (int start = 0; start + length <= words.size(); start++) {
+            Place place = places.get(String.join(" ", words.subList(start, start + length)));
+            if (place != null) {
+                return place;
+            }
+        }
+        return null;
+    }
+    
+    private void add(Place place) {
+        List<String> words = SearchIndex.tokenize(place.name());
+        if (words.isEmpty()) {
+            return;
+        }
+        places.put(String.join(" ", words), place);
+        maxWords = Math.max(maxWords, words.size());
+    }
+    
+    public record Place(String name, double latitude, double longitude) {
+    }
+}
\ No newline at end of file
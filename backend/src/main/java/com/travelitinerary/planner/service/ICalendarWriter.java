@@ -0,0 +1,111 @@
+package com.travelitinerary.planner.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes iCalendar (RFC 5545) content line by line to an output stream: text values are escaped, lines end
+ * with CRLF and are folded at 75 octets without splitting a UTF-8 sequence.
+ */
+public class ICalendarWriter {
+    
+    private static final DateTimeFormatter DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    
+    private static final int MAX_LINE_OCTETS = 75;
+    
+    private static final byte[] CRLF = {'\r', '\n'};
+    
+    private static final byte[] FOLD = {'\r', '\n', ' '};
+    
+    private final OutputStream out;
+    
+    public ICalendarWriter(OutputStream out) {
+        this.out = out;
+    }
+    
+    public void begin(String component) throws IOException {
+        line("BEGIN:" + component);
+    }
+    
+    public void end(String component) throws IOException {
+        line("END:" + component);
+    }
+    
+    // A value written as is, for properties whose syntax is not TEXT
+    public void property(String name, String value) throws IOException {
+        line(name + ":" + value);
+    }
+    
+    public void text(String name, String value) throws IOException {
+        if (value != null && !value.isBlank()) {
+            line(name + ":" + escape(value));
+        }
+    }
+    
+    public void date(String name, LocalDate date) throws IOException {
+        line(name + ";VALUE=DATE:" + DATE.format(date));
+    }
+    
+    // Floating time: shown at the same wall-clock time in every time zone, as destinations carry no zone
+    public void dateTime(String name, LocalDateTime dateTime) throws IOException {
+        line(name + ":" + DATE_TIME.format(dateTime));
+    }
+    
+    // Timestamps are stored in the server's zone; iCalendar wants them in UTC
+    public void timestamp(String name, LocalDateTime serverTime) throws IOException {
+        LocalDateTime utc = serverTime.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
+        line(name + ":" + DATE_TIME.format(utc) + "Z");
+    }
+    
+    public void flush() throws IOException {
+        out.flush();
+    }
+    
+    private void line(String line) throws IOException {
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        int start = 0;
+        int limit = MAX_LINE_OCTETS;
+        while (bytes.length - start > limit) {
+            int end = start + limit;
+            // Back off to the first byte of a UTF-8 sequence
+            while ((bytes[end] & 0xC0) == 0x80) {
+                end--;
+            }
+            out.write(bytes, start, end - start);
+            out.write(FOLD);
+            start = end;
+            // The leading space of a continuation line counts towards its length
+            limit = MAX_LINE_OCTETS - 1;
+        }
+        out.write(bytes, start, bytes.length - start);
+        out.write(CRLF);
+    }
+    
+    static String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 16);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\', ';', ',' -> escaped.append('\\').append(c);
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> {
+                    // CRLF and lone CR both become one line break
+                    escaped.append("\\n");
+                    if (i + 1 < value.length() && value.charAt(i + 1) == '\n') {
+                        i++;
+                    }
+                }
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+}
\ No newline at end of file
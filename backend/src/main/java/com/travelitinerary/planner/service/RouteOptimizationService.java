@@ -0,0 +1,216 @@
+package com.travelitinerary.planner.service;
+
+import com.travelitinerary.planner.dto.RouteOptimizationResponse;
+import com.travelitinerary.planner.dto.RouteOptimizationResponse.DayRoute;
+import com.travelitinerary.planner.dto.RouteOptimizationResponse.OrderChange;
+import com.travelitinerary.planner.exception.ResourceNotFoundException;
+import com.travelitinerary.planner.model.Destination;
+import com.travelitinerary.planner.repository.DestinationRepository;
+import com.travelitinerary.planner.repository.TripRepository;
+import com.travelitinerary.planner.service.RouteOptimizer.Stop;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Reorders each day of a trip into its shortest visiting route. Days are independent, so they are solved
+ * in parallel on a dedicated fork/join pool; each day's destinations are then written back into the same
+ * order index slots they already held, which leaves the other days' positions untouched.
+ */
+@Service
+public class RouteOptimizationService {
+    
+    @Autowired
+    private DestinationRepository destinationRepository;
+    
+    @Autowired
+    private TripRepository tripRepository;
+    
+    @Autowired
+    private TripOwnershipService tripOwnershipService;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private DestinationOrderService destinationOrderService;
+    
+    @Autowired
+    private TripVersionService tripVersionService;
+    
+    @Autowired
+    private Gazetteer gazetteer;
+    
+    private final ForkJoinPool pool;
+    
+    // The multi-start search grows with the fourth power of a day's stops, and it runs under the trip lock
+    private final int maxStopsPerDay;
+    
+    public RouteOptimizationService(@Value("${app.optimizer.parallelism:0}") int parallelism,
+                                    @Value("${app.optimizer.max-stops-per-day:50}") int maxStopsPerDay) {
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.maxStopsPerDay = maxStopsPerDay;
+    }
+    
+    /**
+     * Optimizes every day of the trip. With {@code dryRun} nothing is written and the response only
+     * describes the order index changes that would be made.
+     */
+    @Transactional
+    public RouteOptimizationResponse optimize(Long tripId, boolean dryRun, String userEmail) {
+        Long userId = userService.getUserIdByEmail(userEmail);
+        if (dryRun) {
+            tripOwnershipService.verifyOwnership(tripId, userId);
+        } else {
+            // Same lock as reorders and appends, so the slots cannot change underneath us
+            tripRepository.findByIdAndUserIdForUpdate(tripId, userId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Trip", "id", tripId));
+        }
+        
+        Map<LocalDate, List<Destination>> days = new TreeMap<>();
+        for (Destination destination : destinationRepository.findByTripIdOrderByOrderIndexAsc(tripId)) {
+            days.computeIfAbsent(destination.getDate(), date -> new ArrayList<>()).add(destination);
+        }
+        
+        // Locate destinations saved before they had coordinates; only persisted when the result is applied
+        Map<Long, Gazetteer.Place> located = new HashMap<>();
+        List<ForkJoinTask<DayRoute>> tasks = new ArrayList<>(days.size());
+        for (Map.Entry<LocalDate, List<Destination>> day : days.entrySet()) {
+            List<Long> destinationIds = new ArrayList<>(day.getValue().size());
+            List<Stop> stops = new ArrayList<>(day.getValue().size());
+            List<Long> unlocated = new ArrayList<>();
+            for (Destination destination : day.getValue()) {
+                destinationIds.add(destination.getId());
+                Stop stop = toStop(destination, located);
+                if (stop == null) {
+                    unlocated.add(destination.getId());
+                } else {
+                    stops.add(stop);
+                }
+            }
+            tasks.add(pool.submit(() -> solveDay(day.getKey(), destinationIds, stops, unlocated)));
+        }
+        
+        List<DayRoute> routes = new ArrayList<>(tasks.size());
+        List<OrderChange> changes = new ArrayList<>();
+        Map<Long, Integer> newIndexes = new HashMap<>();
+        for (ForkJoinTask<DayRoute> task : tasks) {
+            DayRoute route = task.join();
+            routes.add(route);
+            if (route.getChanged()) {
+                collectChanges(days.get(route.getDate()), route.getDestinationIds(), changes, newIndexes);
+            }
+        }
+        
+        if (!dryRun) {
+            apply(tripId, days, located, newIndexes);
+        }
+        return new RouteOptimizationResponse(dryRun, routes, changes);
+    }
+    
+    private DayRoute solveDay(LocalDate date, List<Long> currentOrder, List<Stop> stops, List<Long> unlocated) {
+        if (!unlocated.isEmpty()) {
+            // Distances are unknown without every stop's position, so the day is left as it is
+            return new DayRoute(date, currentOrder, unlocated, 0, 0, false);
+        }
+        if (stops.size() > maxStopsPerDay) {
+            // Too many stops to solve while holding the trip lock, so the day is left as it is
+            double length = round(RouteOptimizer.length(stops));
+            DayRoute route = new DayRoute(date, currentOrder, unlocated, length, length, false);
+            route.setExceedsStopLimit(true);
+            return route;
+        }
+        
+        double before = round(RouteOptimizer.length(stops));
+        List<Stop> optimized = RouteOptimizer.solve(stops);
+        double after = round(RouteOptimizer.length(optimized));
+        // A shorter route, or the first order that honours the fixed times
+        boolean changed = after < before || !RouteOptimizer.isFeasible(stops);
+        if (!changed) {
+            return new DayRoute(date, currentOrder, unlocated, before, before, false);
+        }
+        List<Long> newOrder = optimized.stream().map(Stop::id).toList();
+        return new DayRoute(date, newOrder, unlocated, before, after, !newOrder.equals(currentOrder));
+    }
+    
+    // The day's destinations take over the day's existing slots in their new order
+    private void collectChanges(List<Destination> destinations, List<Long> newOrder, List<OrderChange> changes,
+                                Map<Long, Integer> newIndexes) {
+        Map<Long, Destination> byId = new HashMap<>();
+        for (Destination destination : destinations) {
+            byId.put(destination.getId(), destination);
+        }
+        for (int i = 0; i < newOrder.size(); i++) {
+            Destination destination = byId.get(newOrder.get(i));
+            int slot = destinations.get(i).getOrderIndex();
+            if (destination.getOrderIndex() != slot) {
+                changes.add(new OrderChange(destination.getId(), destination.getOrderIndex(), slot));
+                newIndexes.put(destination.getId(), slot);
+            }
+        }
+    }
+    
+    private void apply(Long tripId, Map<LocalDate, List<Destination>> days, Map<Long, Gazetteer.Place> located,
+                       Map<Long, Integer> newIndexes) {
+        List<Destination> moved = new ArrayList<>(newIndexes.size());
+        for (List<Destination> destinations : days.values()) {
+            for (Destination destination : destinations) {
+                Gazetteer.Place place = located.get(destination.getId());
+                if (place != null) {
+                    destination.setLatitude(place.latitude());
+                    destination.setLongitude(place.longitude());
+                }
+                if (newIndexes.containsKey(destination.getId())) {
+                    moved.add(destination);
+                }
+            }
+        }
+        if (moved.isEmpty()) {
+            if (!located.isEmpty()) {
+                tripVersionService.bump(tripId);
+            }
+            return;
+        }
+        
+        // Park the moved rows first; swapping slots directly would trip the unique (trip_id, order_index)
+        destinationOrderService.park(tripId, moved);
+        for (Destination destination : moved) {
+            destination.setOrderIndex(newIndexes.get(destination.getId()));
+        }
+        destinationRepository.flush();
+        tripVersionService.bump(tripId);
+    }
+    
+    private Stop toStop(Destination destination, Map<Long, Gazetteer.Place> located) {
+        if (destination.hasCoordinates()) {
+            return new Stop(destination.getId(), destination.getLatitude(), destination.getLongitude(),
+                    destination.getTime());
+        }
+        Gazetteer.Place place = gazetteer.locate(destination.getName(), destination.getAddress()).orElse(null);
+        if (place == null) {
+            return null;
+        }
+        located.put(destination.getId(), place);
+        return new Stop(destination.getId(), place.latitude(), place.longitude(), destination.getTime());
+    }
+    
+    private static double round(double kilometres) {
+        return Math.round(kilometres * 100) / 100.0;
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,263 @@
+package com.travelitinerary.planner.service;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Shortest visiting order for one day's stops, as an open path (no return to the start). Stops with a
+ * fixed time must be visited in chronological order; untimed stops may go anywhere around them.
+ * A nearest-neighbour tour is built from every feasible start, then improved with 2-opt segment
+ * reversals and single-stop relocations until neither finds a shorter feasible order.
+ */
+public final class RouteOptimizer {
+    
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    
+    private static final double EPSILON = 1e-9;
+    
+    private RouteOptimizer() {}
+    
+    public record Stop(Long id, double latitude, double longitude, LocalTime time) {
+    }
+    
+    /**
+     * Returns the stops in their optimized order.
+     */
+    public static List<Stop> solve(List<Stop> stops) {
+        int n = stops.size();
+        if (n < 3) {
+            return isFeasible(stops) ? new ArrayList<>(stops) : sortedByTime(stops);
+        }
+        double[][] distances = distances(stops);
+        
+        int[] best = null;
+        double bestLength = Double.MAX_VALUE;
+        for (int start = 0; start < n; start++) {
+            int[] tour = nearestNeighbour(stops, distances, start);
+            if (tour == null) {
+                continue;
+            }
+            improve(stops, distances, tour);
+            double length = length(distances, tour);
+            if (length < bestLength - EPSILON) {
+                best = tour;
+                bestLength = length;
+            }
+        }
+        
+        List<Stop> ordered = new ArrayList<>(n);
+        for (int index : best) {
+            ordered.add(stops.get(index));
+        }
+        return ordered;
+    }
+    
+    public static double length(List<Stop> stops) {
+        double total = 0;
+        for (int i = 1; i < stops.size(); i++) {
+            total += distance(stops.get(i - 1), stops.get(i));
+        }
+        return total;
+    }
+    
+    // Timed stops appear in chronological order
+    public static boolean isFeasible(List<Stop> stops) {
+        LocalTime last = null;
+        for (Stop stop : stops) {
+            if (stop.time() != null) {
+                if (last != null && stop.time().isBefore(last)) {
+                    return false;
+                }
+                last = stop.time();
+            }
+        }
+        return true;
+    }
+    
+    // Great-circle distance in kilometres
+    public static double distance(Stop from, Stop to) {
+        double lat1 = Math.toRadians(from.latitude());
+        double lat2 = Math.toRadians(to.latitude());
+        double dLat = lat2 - lat1;
+        double dLon = Math.toRadians(to.longitude() - from.longitude());
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(lat1) * Math.cos(lat2) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+    
+    // Greedy tour from the given start; at each step only untimed stops and the earliest unvisited timed stop are eligible
+    private static int[] nearestNeighbour(List<Stop> stops, double[][] distances, int start) {
+        int n = stops.size();
+        boolean[] visited = new boolean[n];
+        int[] tour = new int[n];
+        int current = start;
+        if (!isEligible(stops, visited, current)) {
+            return null;
+        }
+        visited[current] = true;
+        tour[0] = current;
+        for (int step = 1; step < n; step++) {
+            int next = -1;
+            for (int candidate = 0; candidate < n; candidate++) {
+                if (!visited[candidate] && isEligible(stops, visited, candidate)
+                        && (next < 0 || distances[current][candidate] < distances[current][next])) {
+                    next = candidate;
+                }
+            }
+            visited[next] = true;
+            tour[step] = next;
+            current = next;
+        }
+        return tour;
+    }
+    
+    private static boolean isEligible(List<Stop> stops, boolean[] visited, int candidate) {
+        LocalTime time = stops.get(candidate).time();
+        if (time == null) {
+            return true;
+        }
+        for (int other = 0; other < stops.size(); other++) {
+            LocalTime otherTime = stops.get(other).time();
+            if (!visited[other] && otherTime != null && otherTime.isBefore(time)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static void improve(List<Stop> stops, double[][] distances, int[] tour) {
+        boolean improved = true;
+        while (improved) {
+            improved = twoOpt(stops, distances, tour) | relocate(stops, distances, tour);
+        }
+    }
+    
+    // Reverses tour[i..j] when that shortens the path; only legal if the segment's timed stops share one time
+    private static boolean twoOpt(List<Stop> stops, double[][] distances, int[] tour) {
+        int n = tour.length;
+        boolean improved = false;
+        for (int i = 0; i < n - 1; i++) {
+            for (int j = i + 1; j < n; j++) {
+                double before = edge(distances, tour, i - 1, i) + edge(distances, tour, j, j + 1);
+                double after = (i > 0 ? distances[tour[i - 1]][tour[j]] : 0)
+                        + (j < n - 1 ? distances[tour[i]][tour[j + 1]] : 0);
+                if (after < before - EPSILON && isReversible(stops, tour, i, j)) {
+                    reverse(tour, i, j);
+                    improved = true;
+                }
+            }
+        }
+        return improved;
+    }
+    
+    // Moves a single stop to a better position (or-opt with segment length one)
+    private static boolean relocate(List<Stop> stops, double[][] distances, int[] tour) {
+        int n = tour.length;
+        boolean improved = false;
+        for (int from = 0; from < n; from++) {
+            double removed = edge(distances, tour, from - 1, from) + edge(distances, tour, from, from + 1)
+                    - (from > 0 && from < n - 1 ? distances[tour[from - 1]][tour[from + 1]] : 0);
+            for (int to = 0; to < n; to++) {
+                if (to == from) {
+                    continue;
+                }
+                int[] candidate = moved(tour, from, to);
+                double added = edge(distances, candidate, to - 1, to) + edge(distances, candidate, to, to + 1)
+                        - (to > 0 && to < n - 1 ? distances[candidate[to - 1]][candidate[to + 1]] : 0);
+                if (added < removed - EPSILON && isFeasible(stops, candidate)) {
+                    System.arraycopy(candidate, 0, tour, 0, n);
+                    improved = true;
+                    break;
+                }
+            }
+        }
+        return improved;
+    }
+    
+    private static double edge(double[][] distances, int[] tour, int a, int b) {
+        return a < 0 || b >= tour.length ? 0 : distances[tour[a]][tour[b]];
+    }
+    
+    private static boolean isReversible(List<Stop> stops, int[] tour, int i, int j) {
+        LocalTime time = null;
+        for (int k = i; k <= j; k++) {
+            LocalTime stopTime = stops.get(tour[k]).time();
+            if (stopTime != null) {
+                if (time != null && !time.equals(stopTime)) {
+                    return false;
+                }
+                time = stopTime;
+            }
+        }
+        return true;
+    }
+    
+    private static boolean isFeasible(List<Stop> stops, int[] tour) {
+        LocalTime last = null;
+        for (int index : tour) {
+            LocalTime time = stops.get(index).time();
+            if (time != null) {
+                if (last != null && time.isBefore(last)) {
+                    return false;
+                }
+                last = time;
+            }
+        }
+        return true;
+    }
+    
+    private static void reverse(int[] tour, int i, int j) {
+        while (i < j) {
+            int swap = tour[i];
+            tour[i++] = tour[j];
+            tour[j--] = swap;
+        }
+    }
+    
+    // Copy of the tour with the stop at position from moved to position to
+    private static int[] moved(int[] tour, int from, int to) {
+        int[] result = new int[tour.length];
+        int stop = tour[from];
+        int k = 0;
+        for (int i = 0; i < tour.length; i++) {
+            if (i == from) {
+                continue;
+            }
+            if (k == to) {
+                result[k++] = stop;
+            }
+            result[k++] = tour[i];
+        }
+        if (k == to) {
+            result[k] = stop;
+        }
+        return result;
+    }
+    
+    private static double length(double[][] distances, int[] tour) {
+        double total = 0;
+        for (int i = 1; i < tour.length; i++) {
+            total += distances[tour[i - 1]][tour[i]];
+        }
+        return total;
+    }
+    
+    private static double[][] distances(List<Stop> stops) {
+        int n = stops.size();
+        double[][] distances = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                distances[i][j] = distances[j][i] = distance(stops.get(i), stops.get(j));
+            }
+        }
+        return distances;
+    }
+    
+    private static List<Stop> sortedByTime(List<Stop> stops) {
+        Stop[] sorted = stops.toArray(new Stop[0]);
+        Arrays.sort(sorted, (a, b) -> a.time() == null || b.time() == null ? 0 : a.time().compareTo(b.time()));
+        return new ArrayList<>(Arrays.asList(sorted));
+    }
+}
\ No newline at end of file
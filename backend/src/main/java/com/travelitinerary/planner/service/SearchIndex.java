@@ -0,0 +1,261 @@
+package com.travelitinerary.planner.service;
+
+import com.travelitinerary.planner.dto.SearchResult;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over trip and destination text. Postings are partitioned by owner, so a query
+ * only touches the caller's own terms and its cost does not grow with other users' data. Every query term
+ * must match; the last one also matches as a prefix so partial words find results while typing.
+ */
+@Component
+public class SearchIndex {
+    
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    
+    private static final int MIN_TERM_LENGTH = 2;
+    
+    // Matches in titles and names outrank matches in descriptions, notes and addresses
+    private static final int TITLE_WEIGHT = 3;
+    
+    private static final int BODY_WEIGHT = 1;
+    
+    private static final Comparator<Map.Entry<Document, Integer>> RANKING = Comparator
+            .comparing(Map.Entry<Document, Integer>::getValue).reversed()
+            .thenComparing(entry -> entry.getKey().destination)
+            .thenComparingLong(entry -> -entry.getKey().id);
+    
+    private final ConcurrentHashMap<Long, Long> tripOwners = new ConcurrentHashMap<>();
+    
+    private final ConcurrentHashMap<Long, UserIndex> byUser = new ConcurrentHashMap<>();
+    
+    public void putTrip(Long tripId, Long userId, String title, String description) {
+        tripOwners.put(tripId, userId);
+        Document document = new Document(false, tripId, tripId, title, description);
+        document.addField(title, TITLE_WEIGHT);
+        document.addField(description, BODY_WEIGHT);
+        userIndex(userId).put(document);
+    }
+    
+    // Ignored when the trip itself is not indexed, e.g. it was deleted while the destination was being written
+    public void putDestination(Long destinationId, Long tripId, String name, String description, String notes,
+                               String address) {
+        Long userId = tripOwners.get(tripId);
+        if (userId == null) {
+            return;
+        }
+        Document document = new Document(true, destinationId, tripId, name, description);
+        document.addField(name, TITLE_WEIGHT);
+        document.addField(description, BODY_WEIGHT);
+        document.addField(notes, BODY_WEIGHT);
+        document.addField(address, BODY_WEIGHT);
+        userIndex(userId).put(document);
+    }
+    
+    // Removes the trip together with all of its destinations
+    public void removeTrip(Long tripId) {
+        Long userId = tripOwners.remove(tripId);
+        UserIndex index = userId == null ? null : byUser.get(userId);
+        if (index != null) {
+            index.removeTrip(tripId);
+        }
+    }
+    
+    public void removeDestination(Long destinationId, Long tripId) {
+        Long userId = tripOwners.get(tripId);
+        UserIndex index = userId == null ? null : byUser.get(userId);
+        if (index != null) {
+            index.removeDestination(destinationId);
+        }
+    }
+    
+    public List<SearchResult> search(Long userId, String query, int limit) {
+        List<String> terms = tokenize(query);
+        UserIndex index = byUser.get(userId);
+        if (terms.isEmpty() || index == null) {
+            return new ArrayList<>();
+        }
+        return index.search(terms, limit);
+    }
+    
+    public void clear() {
+        tripOwners.clear();
+        byUser.clear();
+    }
+    
+    public int size() {
+        return byUser.values().stream().mapToInt(UserIndex::size).sum();
+    }
+    
+    // Lower-cased, accent-folded words of at least two characters, in order and without duplicates
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Collections.emptyList();
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        Set<String> terms = new LinkedHashSet<>();
+        for (String term : SEPARATORS.split(folded.toLowerCase())) {
+            if (term.length() >= MIN_TERM_LENGTH) {
+                terms.add(term);
+            }
+        }
+        return new ArrayList<>(terms);
+    }
+    
+    private UserIndex userIndex(Long userId) {
+        return byUser.computeIfAbsent(userId, id -> new UserIndex());
+    }
+    
+    private static class Document {
+        
+        final boolean destination;
+        
+        final long id;
+        
+        final long tripId;
+        
+        final String title;
+        
+        final String description;
+        
+        final Map<String, Integer> termWeights = new HashMap<>();
+        
+        Document(boolean destination, long id, long tripId, String title, String description) {
+            this.destination = destination;
+            this.id = id;
+            this.tripId = tripId;
+            this.title = title;
+            this.description = description;
+        }
+        
+        void addField(String text, int weight) {
+            for (String term : tokenize(text)) {
+                termWeights.merge(term, weight, Integer::sum);
+            }
+        }
+        
+        SearchResult toResult() {
+            return new SearchResult(destination ? SearchResult.TYPE_DESTINATION : SearchResult.TYPE_TRIP,
+                    id, tripId, title, description);
+        }
+    }
+    
+    // One user's documents and postings; guarded by its own monitor so users never contend with each other
+    private static class UserIndex {
+        
+        private final Map<Long, Document> trips = new HashMap<>();
+        
+        private final Map<Long, Document> destinations = new HashMap<>();
+        
+        private final TreeMap<String, Map<Document, Integer>> postings = new TreeMap<>();
+        
+        synchronized void put(Document document) {
+            Document previous = (document.destination ? destinations : trips).put(document.id, document);
+            if (previous != null) {
+                unindex(previous);
+            }
+            document.termWeights.forEach((term, weight) ->
+                    postings.computeIfAbsent(term, t -> new HashMap<>()).put(document, weight));
+        }
+        
+        synchronized void removeTrip(Long tripId) {
+            Document trip = trips.remove(tripId);
+            if (trip != null) {
+                unindex(trip);
+            }
+            destinations.values().removeIf(destination -> {
+                if (destination.tripId != tripId) {
+                    return false;
+                }
+                unindex(destination);
+                return true;
+            });
+        }
+        
+        synchronized void removeDestination(Long destinationId) {
+            Document destination = destinations.remove(destinationId);
+            if (destination != null) {
+                unindex(destination);
+            }
+        }
+        
+        synchronized int size() {
+            return trips.size() + destinations.size();
+        }
+        
+        synchronized List<SearchResult> search(List<String> terms, int limit) {
+            List<Map<Document, Integer>> matches = new ArrayList<>(terms.size());
+            for (int i = 0; i < terms.size(); i++) {
+                String term = terms.get(i);
+                Map<Document, Integer> match = i == terms.size() - 1 ? prefixMatch(term) : postings.get(term);
+                if (match == null || match.isEmpty()) {
+                    return new ArrayList<>();
+                }
+                matches.add(match);
+            }
+            // Walk the rarest term's postings and probe the others
+            matches.sort(Comparator.comparingInt(Map::size));
+            
+            Map<Document, Integer> scores = new HashMap<>();
+            candidates:
+            for (Map.Entry<Document, Integer> candidate : matches.get(0).entrySet()) {
+                int score = candidate.getValue();
+                for (int i = 1; i < matches.size(); i++) {
+                    Integer weight = matches.get(i).get(candidate.getKey());
+                    if (weight == null) {
+                        continue candidates;
+                    }
+                    score += weight;
+                }
+                scores.put(candidate.getKey(), score);
+            }
+            
+            return scores.entrySet().stream()
+                    .sorted(RANKING)
+                    .limit(limit)
+                    .map(entry -> entry.getKey().toResult())
+                    .toList();
+        }
+        
+        private Map<Document, Integer> prefixMatch(String prefix) {
+            NavigableMap<String, Map<Document, Integer>> range =
+                    postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+            if (range.size() == 1) {
+                return range.firstEntry().getValue();
+            }
+            Map<Document, Integer> merged = new HashMap<>();
+            for (Map<Document, Integer> posting : range.values()) {
+                posting.forEach((document, weight) -> merged.merge(document, weight, Math::max));
+            }
+            return merged;
+        }
+        
+        private void unindex(Document document) {
+            for (String term : document.termWeights.keySet()) {
+                Map<Document, Integer> posting = postings.get(term);
+                if (posting != null) {
+                    posting.remove(document);
+                    if (posting.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
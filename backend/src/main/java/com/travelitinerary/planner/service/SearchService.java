@@ -0,0 +1,104 @@
+package com.travelitinerary.planner.service;
+
+import com.travelitinerary.planner.config.PaginationProperties;
+import com.travelitinerary.planner.dto.SearchResult;
+import com.travelitinerary.planner.exception.BadRequestException;
+import com.travelitinerary.planner.model.Destination;
+import com.travelitinerary.planner.model.Trip;
+import com.travelitinerary.planner.repository.SearchDocumentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * Keyword search over the caller's trips and destinations. The {@link SearchIndex} is rebuilt from the
+ * database at startup and kept current by the trip and destination services, which report each write here;
+ * the index is only touched once the write has committed.
+ */
+@Service
+public class SearchService implements SmartInitializingSingleton {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SearchService.class);
+    
+    @Autowired
+    private SearchIndex searchIndex;
+    
+    @Autowired
+    private SearchDocumentRepository searchDocumentRepository;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private PaginationProperties paginationProperties;
+    
+    // Runs before the web server starts, so no write can land between reading a row and indexing it
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+    
+    public void rebuild() {
+        long started = System.nanoTime();
+        searchIndex.clear();
+        searchDocumentRepository.forEachTrip(rs -> searchIndex.putTrip(
+                rs.getLong("id"), rs.getLong("user_id"), rs.getString("title"), rs.getString("description")));
+        // Destinations resolve their owner through the trips indexed above
+        searchDocumentRepository.forEachDestination(rs -> searchIndex.putDestination(
+                rs.getLong("id"), rs.getLong("trip_id"), rs.getString("name"), rs.getString("description"),
+                rs.getString("notes"), rs.getString("address")));
+        logger.info("Search index built with {} documents in {} ms",
+                searchIndex.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+    
+    public List<SearchResult> search(String query, Integer limit, String userEmail) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Search query is required");
+        }
+        Long userId = userService.getUserIdByEmail(userEmail);
+        return searchIndex.search(userId, query, paginationProperties.resolvePageSize(limit));
+    }
+    
+    void onTripSaved(Trip trip, Long userId) {
+        Long tripId = trip.getId();
+        String title = trip.getTitle();
+        String description = trip.getDescription();
+        runAfterCommit(() -> searchIndex.putTrip(tripId, userId, title, description));
+    }
+    
+    void onTripDeleted(Long tripId) {
+        runAfterCommit(() -> searchIndex.removeTrip(tripId));
+    }
+    
+    void onDestinationSaved(Destination destination, Long tripId) {
+        Long destinationId = destination.getId();
+        String name = destination.getName();
+        String description = destination.getDescription();
+        String notes = destination.getNotes();
+        String address = destination.getAddress();
+        runAfterCommit(() -> searchIndex.putDestination(destinationId, tripId, name, description, notes, address));
+    }
+    
+    void onDestinationDeleted(Long destinationId, Long tripId) {
+        runAfterCommit(() -> searchIndex.removeDestination(destinationId, tripId));
+    }
+    
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,179 @@
+package com.travelitinerary.planner.service;
+
+import com.travelitinerary.planner.repository.TripEngagementRepository;
+import com.travelitinerary.planner.repository.TripEngagementRepository.CounterDelta;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Ranking of public trips by {@code likes * likeWeight + views}, kept in memory and updated incrementally
+ * as engagement counts are flushed. Each update repositions only the trips that changed; readers get an
+ * immutable snapshot of the top {@code app.explore.top-k} ids and never sort anything.
+ * <p>
+ * Only the best {@code top-k + trending-slack} trips are held, so memory does not grow with the number of public
+ * trips. The best trip ever dropped is kept as the cutoff: every trip that is not held ranks below it, so held
+ * trips above the cutoff are in their true positions. A flushed delta for a trip that is not held re-reads its
+ * counts, and the trip re-enters if it now ranks above the lowest one held. When removals and unlikes leave fewer
+ * than {@code top-k} trips above the cutoff, the ranking is reloaded from the database.
+ */
+@Component
+public class TrendingIndex {
+    
+    private static final Comparator<Ranked> ORDER = Comparator
+            .comparingLong(Ranked::score).reversed()
+            .thenComparing(Comparator.comparingLong(Ranked::tripId).reversed());
+    
+    private final Map<Long, Ranked> byTrip = new HashMap<>();
+    
+    private final TreeSet<Ranked> ranking = new TreeSet<>(ORDER);
+    
+    private final int topK;
+    
+    private final int capacity;
+    
+    private final long likeWeight;
+    
+    // Best trip dropped from the ranking, or null while every public trip is held
+    private Ranked cutoff;
+    
+    private boolean incomplete;
+    
+    private volatile List<Long> top = Collections.emptyList();
+    
+    @Autowired
+    private TripEngagementRepository tripEngagementRepository;
+    
+    public TrendingIndex(@Value("${app.explore.top-k:100}") int topK,
+                         @Value("${app.explore.trending-slack:100}") int slack,
+                         @Value("${app.explore.like-weight:10}") long likeWeight) {
+        this.topK = topK;
+        this.capacity = topK + Math.max(slack, 0);
+        this.likeWeight = likeWeight;
+    }
+    
+    public List<Long> top(int limit) {
+        List<Long> snapshot = top;
+        return snapshot.subList(0, Math.min(limit, snapshot.size()));
+    }
+    
+    public int getTopK() {
+        return topK;
+    }
+    
+    public synchronized void put(Long tripId, long likes, long views) {
+        reposition(tripId, score(likes, views));
+        publish();
+    }
+    
+    // Rebuilds the ranking from the counters of every public trip, holding only the best of them
+    public synchronized void reload() {
+        byTrip.clear();
+        ranking.clear();
+        cutoff = null;
+        tripEngagementRepository.forEachPublicTrip(trip -> reposition(trip.tripId(), score(trip.likes(), trip.views())));
+        publish();
+    }
+    
+    public synchronized void remove(Long tripId) {
+        Ranked removed = byTrip.remove(tripId);
+        if (removed != null) {
+            ranking.remove(removed);
+            publish();
+            reloadIfIncomplete();
+        }
+    }
+    
+    /**
+     * Applies flushed deltas. Trips below the cutoff are not held, so their counts are read back and they
+     * re-enter if they now rank high enough; trips that are not public are ignored.
+     */
+    public void addAll(Map<Long, long[]> deltas) {
+        List<Long> missed = applyDeltas(deltas);
+        if (!missed.isEmpty()) {
+            offer(tripEngagementRepository.findPublicCounts(missed));
+        }
+    }
+    
+    // Repositions the trips held and returns the others, which may be public trips below the cutoff
+    private synchronized List<Long> applyDeltas(Map<Long, long[]> deltas) {
+        boolean changed = false;
+        List<Long> missed = new ArrayList<>();
+        for (Map.Entry<Long, long[]> delta : deltas.entrySet()) {
+            Ranked current = byTrip.get(delta.getKey());
+            if (current != null) {
+                reposition(delta.getKey(), current.score() + score(delta.getValue()[0], delta.getValue()[1]));
+                changed = true;
+            } else if (cutoff != null) {
+                missed.add(delta.getKey());
+            }
+        }
+        if (changed) {
+            publish();
+            reloadIfIncomplete();
+        }
+        return missed;
+    }
+    
+    private synchronized void offer(List<CounterDelta> counts) {
+        for (CounterDelta trip : counts) {
+            // A trip put or reloaded since the deltas were applied is already current
+            if (!byTrip.containsKey(trip.tripId())) {
+                reposition(trip.tripId(), score(trip.likes(), trip.views()));
+            }
+        }
+        publish();
+    }
+    
+    private void reloadIfIncomplete() {
+        if (incomplete) {
+            reload();
+        }
+    }
+    
+    private long score(long likes, long views) {
+        return likes * likeWeight + views;
+    }
+    
+    // Drops the lowest trip once more than capacity are held; it re-enters only by ranking above the lowest again
+    private void reposition(Long tripId, long score) {
+        Ranked previous = byTrip.get(tripId);
+        if (previous != null) {
+            ranking.remove(previous);
+        }
+        Ranked ranked = new Ranked(tripId, score);
+        byTrip.put(tripId, ranked);
+        ranking.add(ranked);
+        
+        if (ranking.size() > capacity) {
+            Ranked dropped = ranking.pollLast();
+            byTrip.remove(dropped.tripId());
+            if (cutoff == null || ORDER.compare(dropped, cutoff) < 0) {
+                cutoff = dropped;
+            }
+        }
+    }
+    
+    // Publishes only trips above the cutoff, since a trip that is not held may outrank the ones below it
+    private void publish() {
+        List<Long> snapshot = new ArrayList<>(Math.min(topK, ranking.size()));
+        Iterator<Ranked> iterator = (cutoff == null ? ranking : ranking.headSet(cutoff)).iterator();
+        while (iterator.hasNext() && snapshot.size() < topK) {
+            snapshot.add(iterator.next().tripId());
+        }
+        incomplete = cutoff != null && snapshot.size() < topK;
+        top = Collections.unmodifiableList(snapshot);
+    }
+    
+    private record Ranked(long tripId, long score) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.travelitinerary.planner.service;
+
+import com.travelitinerary.planner.exception.ResourceNotFoundException;
+import com.travelitinerary.planner.repository.TripRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Answers "does trip X belong to user Y" with a single indexed existence query, without loading
+ * the trip or its destinations. Positive answers are remembered for the rest of the current request.
+ */
+@Service
+public class TripOwnershipService {
+    
+    private static final String MEMO_ATTRIBUTE = TripOwnershipService.class.getName() + ".verified";
+    
+    @Autowired
+    private TripRepository tripRepository;
+    
+    @Autowired
+    private UserService userService;
+    
+    public void verifyOwnership(Long tripId, String userEmail) {
+        verifyOwnership(tripId, userService.getUserIdByEmail(userEmail));
+    }
+    
+    public void verifyOwnership(Long tripId, Long userId) {
+        Set<String> memo = requestMemo();
+        String key = userId + ":" + tripId;
+        if (memo != null && memo.contains(key)) {
+            return;
+        }
+        
+        if (!tripRepository.existsByIdAndUserId(tripId, userId)) {
+            throw new ResourceNotFoundException("Trip", "id", tripId);
+        }
+        
+        if (memo != null) {
+            memo.add(key);
+        }
+    }
+    
+    public void forget(Long tripId, Long userId) {
+        Set<String> memo = requestMemo();
+        if (memo != null) {
+            memo.remove(userId + ":" + tripId);
+        }
+    }
+    
+    // Null outside of a web request (scheduled jobs, async response writers), where nothing is memoized
+    @SuppressWarnings("unchecked")
+    private Set<String> requestMemo() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Set<String> memo = (Set<String>) attributes.getAttribute(MEMO_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (memo == null) {
+            memo = new HashSet<>();
+            attributes.setAttribute(MEMO_ATTRIBUTE, memo, RequestAttributes.SCOPE_REQUEST);
+        }
+        return memo;
+    }
+}
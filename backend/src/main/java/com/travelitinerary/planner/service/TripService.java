@@ -1,15 +1,25 @@
 package com.travelitinerary.planner.service;
 
+import com.travelitinerary.planner.config.PaginationProperties;
+import com.travelitinerary.planner.dto.CursorPage;
 import com.travelitinerary.planner.dto.TripRequest;
 import com.travelitinerary.planner.dto.TripResponse;
 import com.travelitinerary.planner.dto.DestinationResponse;
+import com.travelitinerary.planner.exception.BadRequestException;
 import com.travelitinerary.planner.exception.ResourceNotFoundException;
 import com.travelitinerary.planner.model.Trip;
 import com.travelitinerary.planner.model.User;
 import com.travelitinerary.planner.repository.TripRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -22,28 +32,66 @@ public class TripService {
     @Autowired
     private UserService userService;
     
-    public List<TripResponse> getUserTrips(String userEmail) {
-        User user = userService.getUserEntityByEmail(userEmail);
-        List<Trip> trips = tripRepository.findByUserIdOrderByCreatedAtDesc(user.getId());
+    @Autowired
+    private UserStatsService userStatsService;
+    
+    @Autowired
+    private ExpenseService expenseService;
+    
+    @Autowired
+    private TripOwnershipService tripOwnershipService;
+    
+    @Autowired
+    private TripVersionService tripVersionService;
+    
+    @Autowired
+    private ExploreService exploreService;
+    
+    @Autowired
+    private SearchService searchService;
+    
+    @Autowired
+    private PaginationProperties paginationProperties;
+    
+    public CursorPage<TripResponse> getUserTrips(String userEmail, String cursor, Integer limit) {
+        Long userId = userService.getUserIdByEmail(userEmail);
+        int pageSize = paginationProperties.resolvePageSize(limit);
+        // Fetch one extra row to learn whether another page follows
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
         
-        return trips.stream()
-                .map(this::convertToTripResponse)
-                .collect(Collectors.toList());
+        // Single grouped query; avoids initializing each trip's destinations just to count them
+        List<TripResponse> trips;
+        if (cursor == null || cursor.isEmpty()) {
+            trips = tripRepository.findTripSummariesByUserId(userId, pageable);
+        } else {
+            String[] keys = CursorPage.decodeCursor(cursor, 2);
+            trips = tripRepository.findTripSummariesByUserIdAfter(
+                    userId, parseCursorTimestamp(keys[0]), parseCursorId(keys[1]), pageable);
+        }
+        
+        String nextCursor = null;
+        if (trips.size() > pageSize) {
+            trips = trips.subList(0, pageSize);
+            TripResponse last = trips.get(pageSize - 1);
+            nextCursor = CursorPage.encodeCursor(last.getCreatedAt(), last.getId());
+        }
+        return new CursorPage<>(trips, nextCursor);
     }
     
     public TripResponse getTripById(Long tripId, String userEmail) {
-        User user = userService.getUserEntityByEmail(userEmail);
+        Long userId = userService.getUserIdByEmail(userEmail);
         Trip trip = tripRepository.findById(tripId)
                 .orElseThrow(() -> new ResourceNotFoundException("Trip", "id", tripId));
         
         // Check if trip belongs to user
-        if (!trip.getUser().getId().equals(user.getId())) {
+        if (!trip.getUser().getId().equals(userId)) {
             throw new ResourceNotFoundException("Trip", "id", tripId);
         }
         
         return convertToTripResponseWithDestinations(trip);
     }
     
+    @Transactional
     public TripResponse createTrip(TripRequest tripRequest, String userEmail) {
         User user = userService.getUserEntityByEmail(userEmail);
         
@@ -52,46 +100,96 @@ public class TripService {
         trip.setDescription(tripRequest.getDescription());
         trip.setStartDate(tripRequest.getStartDate());
         trip.setEndDate(tripRequest.getEndDate());
+        trip.setPublic(Boolean.TRUE.equals(tripRequest.getIsPublic()));
+        trip.setTagList(tripRequest.getTags());
         trip.setUser(user);
         
         Trip savedTrip = tripRepository.save(trip);
+        userStatsService.onTripCreated(user.getId(), savedTrip.getStartDate());
+        searchService.onTripSaved(savedTrip, user.getId());
+        if (savedTrip.isPublic()) {
+            exploreService.onVisibilityChanged(savedTrip.getId(), true);
+        }
         return convertToTripResponse(savedTrip);
     }
     
+    @Transactional
     public TripResponse updateTrip(Long tripId, TripRequest tripRequest, String userEmail) {
-        User user = userService.getUserEntityByEmail(userEmail);
+        Long userId = userService.getUserIdByEmail(userEmail);
         Trip trip = tripRepository.findById(tripId)
                 .orElseThrow(() -> new ResourceNotFoundException("Trip", "id", tripId));
         
         // Check if trip belongs to user
-        if (!trip.getUser().getId().equals(user.getId())) {
+        if (!trip.getUser().getId().equals(userId)) {
             throw new ResourceNotFoundException("Trip", "id", tripId);
         }
         
+        LocalDate previousStartDate = trip.getStartDate();
+        boolean wasPublic = trip.isPublic();
         trip.setTitle(tripRequest.getTitle());
         trip.setDescription(tripRequest.getDescription());
         trip.setStartDate(tripRequest.getStartDate());
         trip.setEndDate(tripRequest.getEndDate());
+        // Omitted fields keep their current value so older clients do not unpublish or clear tags
+        if (tripRequest.getIsPublic() != null) {
+            trip.setPublic(tripRequest.getIsPublic());
+        }
+        if (tripRequest.getTags() != null) {
+            trip.setTagList(tripRequest.getTags());
+        }
         
         Trip updatedTrip = tripRepository.save(trip);
+        tripVersionService.bump(tripId);
+        searchService.onTripSaved(updatedTrip, userId);
+        if (updatedTrip.isPublic() != wasPublic) {
+            exploreService.onVisibilityChanged(tripId, updatedTrip.isPublic());
+        }
+        userStatsService.onTripRescheduled(userId, previousStartDate, updatedTrip.getStartDate());
         return convertToTripResponse(updatedTrip);
     }
     
+    @Transactional
     public void deleteTrip(Long tripId, String userEmail) {
-        User user = userService.getUserEntityByEmail(userEmail);
+        Long userId = userService.getUserIdByEmail(userEmail);
         Trip trip = tripRepository.findById(tripId)
                 .orElseThrow(() -> new ResourceNotFoundException("Trip", "id", tripId));
         
         // Check if trip belongs to user
-        if (!trip.getUser().getId().equals(user.getId())) {
+        if (!trip.getUser().getId().equals(userId)) {
             throw new ResourceNotFoundException("Trip", "id", tripId);
         }
         
+        // The cascade loads the destinations to remove them anyway, so counting them here is free
+        int destinationCount = trip.getDestinationsCount();
+        BigDecimal removedExpenses = expenseService.deleteTripExpenses(tripId);
         tripRepository.delete(trip);
+        userStatsService.onTripDeleted(userId, trip.getStartDate(), destinationCount);
+        tripOwnershipService.forget(tripId, userId);
+        searchService.onTripDeleted(tripId);
+        if (trip.isPublic()) {
+            exploreService.onVisibilityChanged(tripId, false);
+        }
+        userStatsService.onExpensesChanged(userId, removedExpenses.negate());
+    }
+    
+    private LocalDateTime parseCursorTimestamp(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor", e);
+        }
     }
     
-    private TripResponse convertToTripResponse(Trip trip) {
-        return new TripResponse(
+    private Long parseCursorId(String value) {
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid cursor", e);
+        }
+    }
+    
+    TripResponse convertToTripResponse(Trip trip) {
+        TripResponse response = new TripResponse(
                 trip.getId(),
                 trip.getTitle(),
                 trip.getDescription(),
@@ -101,9 +199,12 @@ public class TripService {
                 trip.getCreatedAt(),
                 trip.getUpdatedAt()
         );
+        response.setIsPublic(trip.isPublic());
+        response.setTags(trip.getTagList());
+        return response;
     }
     
-    private TripResponse convertToTripResponseWithDestinations(Trip trip) {
+    TripResponse convertToTripResponseWithDestinations(Trip trip) {
         TripResponse response = convertToTripResponse(trip);
         
         List<DestinationResponse> destinations = trip.getDestinations().stream()
@@ -116,6 +217,8 @@ public class TripService {
                         destination.getNotes(),
                         destination.getAddress(),
                         destination.getOrderIndex(),
+                        destination.getLatitude(),
+                        destination.getLongitude(),
                         destination.getCreatedAt(),
                         destination.getUpdatedAt()
                 ))
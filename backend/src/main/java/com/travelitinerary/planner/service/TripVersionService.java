@@ -0,0 +1,77 @@
+package com.travelitinerary.planner.service;
+
+import com.travelitinerary.planner.exception.ResourceNotFoundException;
+import com.travelitinerary.planner.model.Trip;
+import com.travelitinerary.planner.repository.TripCounterRepository;
+import com.travelitinerary.planner.repository.TripRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Strong ETags for a trip and its destination list, derived from the trip's content version.
+ * The version is bumped in the same transaction as every trip or destination write, so answering a
+ * conditional GET takes one primary-key lookup and no entity loading.
+ */
+@Service
+public class TripVersionService {
+    
+    private static final String TRIP_DESTINATIONS_ROLE = Trip.class.getName() + ".destinations";
+    
+    @Autowired
+    private TripRepository tripRepository;
+    
+    @Autowired
+    private TripCounterRepository tripCounterRepository;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    public String getTripETag(Long tripId, String userEmail) {
+        return "\"" + tripId + "-" + getVersion(tripId, userEmail) + "\"";
+    }
+    
+    // Each page of the list is its own representation, so the page parameters are part of the tag
+    public String getDestinationsETag(Long tripId, String userEmail, String cursor, Integer limit) {
+        String page = (cursor != null ? cursor : "") + ":" + (limit != null ? limit : "");
+        return "\"" + tripId + "-" + getVersion(tripId, userEmail) + "-d" + Integer.toHexString(page.hashCode()) + "\"";
+    }
+    
+    /**
+     * Advances the trip's version and, once the transaction commits, drops its cached destination list
+     * so reorders and other changes that do not touch the collection itself are not served stale.
+     */
+    @Transactional
+    public void bump(Long tripId) {
+        tripCounterRepository.incrementVersion(tripId);
+        
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictDestinations(tripId);
+                }
+            });
+        } else {
+            evictDestinations(tripId);
+        }
+    }
+    
+    private void evictDestinations(Long tripId) {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache()
+                .evictCollectionData(TRIP_DESTINATIONS_ROLE, tripId);
+    }
+    
+    private Long getVersion(Long tripId, String userEmail) {
+        Long userId = userService.getUserIdByEmail(userEmail);
+        return tripRepository.findVersionByIdAndUserId(tripId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Trip", "id", tripId));
+    }
+}
\ No newline at end of file
@@ -1 +1,151 @@
- 
\ No newline at end of file
+package com.travelitinerary.planner.service;
+
+import com.travelitinerary.planner.dto.UserDto;
+import com.travelitinerary.planner.exception.BadRequestException;
+import com.travelitinerary.planner.exception.InvalidTokenException;
+import com.travelitinerary.planner.exception.ResourceNotFoundException;
+import com.travelitinerary.planner.model.User;
+import com.travelitinerary.planner.repository.UserRepository;
+import com.travelitinerary.planner.security.JwtTokenProvider;
+import com.travelitinerary.planner.security.PrincipalCache;
+import com.travelitinerary.planner.security.TokenRevocationService;
+import com.travelitinerary.planner.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class UserService {
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    
+    @Autowired
+    private AuthenticationManager authenticationManager;
+    
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+    
+    @Autowired
+    private PrincipalCache principalCache;
+    
+    @Autowired
+    private UserStatsService userStatsService;
+    
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+    
+    @Transactional
+    public UserDto createUser(String name, String email, String password) {
+        if (userRepository.existsByEmail(email)) {
+            throw new BadRequestException("Email is already in use");
+        }
+        
+        User user = new User(name, email, passwordEncoder.encode(password));
+        User savedUser = userRepository.save(user);
+        userStatsService.initialize(savedUser.getId());
+        
+        return convertToUserDto(savedUser);
+    }
+    
+    public String authenticateUser(String email, String password) {
+        Authentication authentication = authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(email, password));
+        
+        return tokenProvider.generateToken(authentication);
+    }
+    
+    // For a user whose password was just set, so there is nothing to verify
+    public String issueToken(UserDto user) {
+        return tokenProvider.generateToken(user.getId(), user.getEmail());
+    }
+    
+    public String issueRefreshToken(UserDto user) {
+        return tokenProvider.generateRefreshToken(user.getId(), user.getEmail());
+    }
+    
+    public long getAccessTokenValiditySeconds() {
+        return tokenProvider.getAccessTokenValiditySeconds();
+    }
+    
+    // Rotation: the presented refresh token is revoked, so each one can be exchanged only once.
+    // The revocation insert is the claim on the token; of two concurrent redemptions only one inserts the row.
+    @Transactional
+    public UserDto redeemRefreshToken(String refreshToken) {
+        Claims claims = tokenProvider.parseToken(refreshToken);
+        if (claims == null || !tokenProvider.isRefreshToken(claims) || tokenRevocationService.isRevoked(claims)) {
+            throw new InvalidTokenException("Invalid or expired refresh token");
+        }
+        
+        User user = userRepository.findById(tokenProvider.getUserId(claims))
+                .orElseThrow(() -> new InvalidTokenException("Invalid or expired refresh token"));
+        if (!tokenRevocationService.revoke(claims)) {
+            throw new InvalidTokenException("Invalid or expired refresh token");
+        }
+        return convertToUserDto(user);
+    }
+    
+    // Tokens that fail verification are skipped; they are already unusable
+    @Transactional
+    public void logout(String accessToken, String refreshToken) {
+        for (String token : new String[] {accessToken, refreshToken}) {
+            Claims claims = tokenProvider.parseToken(token);
+            if (claims != null) {
+                tokenRevocationService.revoke(claims);
+            }
+        }
+    }
+    
+    // Not transactional: both BCrypt operations run before a connection is taken for the update
+    public UserDto changePassword(String email, String currentPassword, String newPassword) {
+        User user = loadUserByEmail(email);
+        if (!passwordEncoder.matches(currentPassword, user.getPassword())) {
+            throw new BadRequestException("Current password is incorrect");
+        }
+        
+        user.setPassword(passwordEncoder.encode(newPassword));
+        // Every session signed in with the old password ends with it
+        return convertToUserDto(tokenRevocationService.revokeAll(user));
+    }
+    
+    public UserDto getUserByEmail(String email) {
+        return convertToUserDto(loadUserByEmail(email));
+    }
+    
+    public User getUserEntityByEmail(String email) {
+        UserPrincipal principal = principalCache.get(email);
+        if (principal != null) {
+            return userRepository.getReferenceById(principal.getId());
+        }
+        
+        User user = loadUserByEmail(email);
+        principalCache.put(UserPrincipal.withoutCredentials(user));
+        return user;
+    }
+    
+    public Long getUserIdByEmail(String email) {
+        return getUserEntityByEmail(email).getId();
+    }
+    
+    private User loadUserByEmail(String email) {
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "email", email));
+    }
+    
+    private UserDto convertToUserDto(User user) {
+        return new UserDto(
+                user.getId(),
+                user.getName(),
+                user.getEmail(),
+                user.getCreatedAt()
+        );
+    }
+}
@@ -0,0 +1,45 @@
+package com.travelitinerary.planner.service;
+
+import com.travelitinerary.planner.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class UserStatsReconciler {
+    
+    private static final Logger logger = LoggerFactory.getLogger(UserStatsReconciler.class);
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private UserStatsService userStatsService;
+    
+    @Value("${app.stats.reconcile.batch-size:500}")
+    private int batchSize;
+    
+    @Scheduled(cron = "${app.stats.reconcile.cron:0 30 3 * * *}")
+    public void reconcileAll() {
+        long afterId = 0L;
+        int checked = 0;
+        int repaired = 0;
+        
+        // Each batch runs in its own transaction so a full pass never holds long-lived locks
+        List<Long> userIds = userRepository.findIdsAfter(afterId, PageRequest.of(0, batchSize));
+        while (!userIds.isEmpty()) {
+            repaired += userStatsService.reconcile(userIds);
+            checked += userIds.size();
+            afterId = userIds.get(userIds.size() - 1);
+            userIds = userRepository.findIdsAfter(afterId, PageRequest.of(0, batchSize));
+        }
+        
+        logger.info("User stats reconciliation checked {} users and repaired {}", checked, repaired);
+    }
+}
@@ -0,0 +1,197 @@
+package com.travelitinerary.planner.service;
+
+import com.travelitinerary.planner.dto.DashboardStatsResponse;
+import com.travelitinerary.planner.model.UserStats;
+import com.travelitinerary.planner.repository.DestinationRepository;
+import com.travelitinerary.planner.repository.ExpenseRepository;
+import com.travelitinerary.planner.repository.TripRepository;
+import com.travelitinerary.planner.repository.UserStatsRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@Service
+public class UserStatsService {
+    
+    @Autowired
+    private UserStatsRepository userStatsRepository;
+    
+    @Autowired
+    private TripRepository tripRepository;
+    
+    @Autowired
+    private DestinationRepository destinationRepository;
+    
+    @Autowired
+    private ExpenseRepository expenseRepository;
+    
+    @Transactional
+    public void initialize(Long userId) {
+        userStatsRepository.insertIfAbsent(userId, 0, 0, BigDecimal.ZERO, 0, null);
+    }
+    
+    @Transactional
+    public DashboardStatsResponse getStats(Long userId) {
+        LocalDate today = LocalDate.now();
+        UserStats stats = userStatsRepository.findById(userId).orElse(null);
+        
+        if (stats == null) {
+            // Users created before stats were tracked get their record built on first read
+            reconcile(List.of(userId));
+            stats = userStatsRepository.findById(userId).orElseThrow();
+        }
+        
+        int upcomingTrips = stats.getUpcomingTrips();
+        if (!stats.isUpcomingCountValidOn(today)) {
+            // The earliest counted trip has started, so the upcoming figure must be recomputed.
+            // Only the two upcoming columns are written; the managed entity stays clean so its flush
+            // cannot overwrite counters incremented concurrently by other transactions.
+            Object[] upcoming = findUpcoming(userId, today);
+            upcomingTrips = upcoming != null ? ((Number) upcoming[1]).intValue() : 0;
+            userStatsRepository.setUpcoming(userId, upcomingTrips, upcoming != null ? (LocalDate) upcoming[2] : null);
+        }
+        
+        return new DashboardStatsResponse(
+                stats.getTotalTrips(),
+                stats.getTotalDestinations(),
+                stats.getTotalExpenses().doubleValue(),
+                upcomingTrips
+        );
+    }
+    
+    @Transactional
+    public void onTripCreated(Long userId, LocalDate startDate) {
+        userStatsRepository.addTrips(userId, 1);
+        if (!startDate.isBefore(LocalDate.now())) {
+            userStatsRepository.addUpcomingTrip(userId, startDate);
+        }
+    }
+    
+    @Transactional
+    public void onTripRescheduled(Long userId, LocalDate oldStartDate, LocalDate newStartDate) {
+        LocalDate today = LocalDate.now();
+        if (!oldStartDate.equals(newStartDate)
+                && (!oldStartDate.isBefore(today) || !newStartDate.isBefore(today))) {
+            refreshUpcoming(userId, today);
+        }
+    }
+    
+    @Transactional
+    public void onTripDeleted(Long userId, LocalDate startDate, long destinationCount) {
+        LocalDate today = LocalDate.now();
+        userStatsRepository.addTrips(userId, -1);
+        if (destinationCount > 0) {
+            userStatsRepository.addDestinations(userId, (int) -destinationCount);
+        }
+        if (!startDate.isBefore(today)) {
+            refreshUpcoming(userId, today);
+        }
+    }
+    
+    @Transactional
+    public void onExpensesChanged(Long userId, BigDecimal delta) {
+        if (delta.signum() != 0) {
+            userStatsRepository.addExpenses(userId, delta);
+        }
+    }
+    
+    @Transactional
+    public void onDestinationsAdded(Long userId, int count) {
+        userStatsRepository.addDestinations(userId, count);
+    }
+    
+    @Transactional
+    public void onDestinationsRemoved(Long userId, int count) {
+        userStatsRepository.addDestinations(userId, -count);
+    }
+    
+    /**
+     * Recomputes the stats of the given users from the source tables and repairs any drift.
+     * Returns the number of records that were created or corrected.
+     */
+    @Transactional
+    public int reconcile(List<Long> userIds) {
+        LocalDate today = LocalDate.now();
+        // Locked before counting: an increment committed first is in the counts, one made later waits for
+        // this transaction and applies on top of the repaired figures instead of being overwritten by them
+        Map<Long, UserStats> existing = new HashMap<>();
+        for (UserStats stats : userStatsRepository.findAllByUserIdInForUpdate(userIds)) {
+            existing.put(stats.getUserId(), stats);
+        }
+        
+        Map<Long, Long> tripCounts = toCountMap(tripRepository.countByUserIds(userIds));
+        Map<Long, Long> destinationCounts = toCountMap(destinationRepository.countByUserIds(userIds));
+        Map<Long, BigDecimal> expenseTotals = new HashMap<>();
+        for (Object[] row : expenseRepository.sumByUserIds(userIds)) {
+            expenseTotals.put((Long) row[0], (BigDecimal) row[1]);
+        }
+        Map<Long, Object[]> upcoming = new HashMap<>();
+        for (Object[] row : tripRepository.countUpcomingByUserIds(userIds, today)) {
+            upcoming.put((Long) row[0], row);
+        }
+        
+        int repaired = 0;
+        for (Long userId : userIds) {
+            int trips = tripCounts.getOrDefault(userId, 0L).intValue();
+            int destinations = destinationCounts.getOrDefault(userId, 0L).intValue();
+            BigDecimal expenses = expenseTotals.getOrDefault(userId, BigDecimal.ZERO);
+            Object[] upcomingRow = upcoming.get(userId);
+            int upcomingTrips = upcomingRow != null ? ((Number) upcomingRow[1]).intValue() : 0;
+            LocalDate nextStartDate = upcomingRow != null ? (LocalDate) upcomingRow[2] : null;
+            
+            UserStats stats = existing.get(userId);
+            if (stats == null) {
+                // A concurrent first read may have created the record already; its figures are just as fresh
+                repaired += userStatsRepository.insertIfAbsent(
+                        userId, trips, destinations, expenses, upcomingTrips, nextStartDate);
+                continue;
+            }
+            
+            boolean drifted = stats.getTotalTrips() != trips
+                    || stats.getTotalDestinations() != destinations
+                    || stats.getTotalExpenses().compareTo(expenses) != 0
+                    || stats.getUpcomingTrips() != upcomingTrips
+                    || !Objects.equals(stats.getNextStartDate(), nextStartDate);
+            
+            if (drifted) {
+                stats.setTotalTrips(trips);
+                stats.setTotalDestinations(destinations);
+                stats.setTotalExpenses(expenses);
+                stats.setUpcomingTrips(upcomingTrips);
+                stats.setNextStartDate(nextStartDate);
+                userStatsRepository.save(stats);
+                repaired++;
+            }
+        }
+        return repaired;
+    }
+    
+    private void refreshUpcoming(Long userId, LocalDate today) {
+        Object[] upcoming = findUpcoming(userId, today);
+        userStatsRepository.setUpcoming(
+                userId,
+                upcoming != null ? ((Number) upcoming[1]).intValue() : 0,
+                upcoming != null ? (LocalDate) upcoming[2] : null
+        );
+    }
+    
+    private Object[] findUpcoming(Long userId, LocalDate today) {
+        List<Object[]> rows = tripRepository.countUpcomingByUserIds(List.of(userId), today);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+    
+    private Map<Long, Long> toCountMap(List<Object[]> rows) {
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+}
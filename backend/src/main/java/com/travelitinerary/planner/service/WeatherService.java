@@ -0,0 +1,165 @@
+package com.travelitinerary.planner.service;
+
+import com.travelitinerary.planner.cache.BoundedTtlCache;
+import com.travelitinerary.planner.dto.DailyWeather;
+import com.travelitinerary.planner.dto.DestinationWeatherResponse;
+import com.travelitinerary.planner.model.Destination;
+import com.travelitinerary.planner.repository.DestinationRepository;
+import com.travelitinerary.planner.weather.WeatherProvider;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Weather for a trip's destinations. Lookups are keyed by location rounded to
+ * {@code app.weather.location-precision} decimals and date, so nearby stops on the same day share one
+ * provider call. Results are kept in a TTL cache, and concurrent requests for a key that is already being
+ * fetched wait for that call instead of starting another.
+ */
+@Service
+public class WeatherService implements MeterBinder {
+    
+    @Autowired
+    private WeatherProvider weatherProvider;
+    
+    @Autowired
+    private DestinationRepository destinationRepository;
+    
+    @Autowired
+    private TripOwnershipService tripOwnershipService;
+    
+    @Autowired
+    private Gazetteer gazetteer;
+    
+    private final BoundedTtlCache<WeatherKey, DailyWeather> cache;
+    
+    private final ConcurrentHashMap<WeatherKey, CompletableFuture<DailyWeather>> inFlight = new ConcurrentHashMap<>();
+    
+    private final double scale;
+    
+    private final LongAdder providerCalls = new LongAdder();
+    
+    private final LongAdder coalesced = new LongAdder();
+    
+    public WeatherService(@Value("${app.weather.cache.max-size:10000}") int maxSize,
+                          @Value("${app.weather.cache.ttl:30m}") Duration ttl,
+                          @Value("${app.weather.location-precision:2}") int precision) {
+        this.cache = new BoundedTtlCache<>(maxSize, ttl);
+        this.scale = Math.pow(10, precision);
+    }
+    
+    public List<DestinationWeatherResponse> getTripWeather(Long tripId, String userEmail) {
+        tripOwnershipService.verifyOwnership(tripId, userEmail);
+        
+        List<Destination> destinations = destinationRepository.findByTripIdOrderByOrderIndexAsc(tripId);
+        Map<WeatherKey, DailyWeather> forecasts = new HashMap<>();
+        List<DestinationWeatherResponse> weather = new ArrayList<>(destinations.size());
+        for (Destination destination : destinations) {
+            WeatherKey key = keyFor(destination);
+            DailyWeather forecast = null;
+            if (key != null) {
+                // Within one request, repeated keys do not even reach the cache
+                forecast = forecasts.containsKey(key) ? forecasts.get(key) : lookup(key);
+                forecasts.put(key, forecast);
+            }
+            weather.add(new DestinationWeatherResponse(destination.getId(), destination.getName(),
+                    destination.getDate(), forecast));
+        }
+        return weather;
+    }
+    
+    DailyWeather lookup(WeatherKey key) {
+        DailyWeather cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        
+        CompletableFuture<DailyWeather> call = new CompletableFuture<>();
+        CompletableFuture<DailyWeather> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+        try {
+            // Another caller may have finished and cached it between our cache miss and claiming the key
+            DailyWeather forecast = cache.get(key);
+            if (forecast == null) {
+                providerCalls.increment();
+                forecast = weatherProvider.getDailyWeather(key.latitude() / scale, key.longitude() / scale, key.date());
+                if (forecast != null) {
+                    cache.put(key, forecast);
+                }
+            }
+            call.complete(forecast);
+            return forecast;
+        } catch (RuntimeException e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+    
+    private DailyWeather await(CompletableFuture<DailyWeather> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+    
+    // Null when the destination cannot be located
+    private WeatherKey keyFor(Destination destination) {
+        double latitude;
+        double longitude;
+        if (destination.hasCoordinates()) {
+            latitude = destination.getLatitude();
+            longitude = destination.getLongitude();
+        } else {
+            Gazetteer.Place place = gazetteer.locate(destination.getName(), destination.getAddress()).orElse(null);
+            if (place == null) {
+                return null;
+            }
+            latitude = place.latitude();
+            longitude = place.longitude();
+        }
+        return new WeatherKey(Math.round(latitude * scale), Math.round(longitude * scale), destination.getDate());
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("weather.provider.calls", providerCalls, LongAdder::sum)
+                .description("Lookups sent to the weather provider")
+                .register(registry);
+        FunctionCounter.builder("weather.lookups.coalesced", coalesced, LongAdder::sum)
+                .description("Lookups that waited for an identical call already in flight")
+                .register(registry);
+        FunctionCounter.builder("weather.cache.requests", cache, BoundedTtlCache::getHitCount)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("weather.cache.requests", cache, BoundedTtlCache::getMissCount)
+                .tag("result", "miss")
+                .register(registry);
+    }
+    
+    // Coordinates in units of 10^-precision degrees
+    record WeatherKey(long latitude, long longitude, LocalDate date) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.travelitinerary.planner.weather;
+
+import com.travelitinerary.planner.dto.DailyWeather;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * Local stand-in for a real weather service. Values are derived from the location and date only, so
+ * the same lookup always gives the same answer, with temperatures that roughly follow latitude and season.
+ */
+@Component
+@ConditionalOnProperty(name = "app.weather.provider", havingValue = "stub", matchIfMissing = true)
+public class StubWeatherProvider implements WeatherProvider {
+    
+    private static final String[] CONDITIONS = {"Sunny", "Partly Cloudy", "Cloudy", "Light Rain", "Rain", "Thunderstorms"};
+    
+    @Override
+    public DailyWeather getDailyWeather(double latitude, double longitude, LocalDate date) {
+        Random random = new Random(31L * (31L * Double.hashCode(latitude) + Double.hashCode(longitude)) + date.toEpochDay());
+        
+        // Warmest near the equator and in the local summer
+        double season = Math.cos(2 * Math.PI * (date.getDayOfYear() - 196) / 365.0) * Math.signum(latitude);
+        double mean = 27 - Math.abs(latitude) * 0.4 + season * Math.abs(latitude) * 0.25;
+        int high = (int) Math.round(mean + 4 + random.nextGaussian() * 2);
+        int low = high - 6 - random.nextInt(5);
+        
+        int condition = random.nextInt(CONDITIONS.length);
+        int precipitation = Math.min(100, condition * 18 + random.nextInt(10));
+        return new DailyWeather(date, CONDITIONS[condition], high, low, precipitation);
+    }
+}
\ No newline at end of file
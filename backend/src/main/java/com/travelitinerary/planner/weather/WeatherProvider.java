@@ -0,0 +1,18 @@
+package com.travelitinerary.planner.weather;
+
+import com.travelitinerary.planner.dto.DailyWeather;
+
+import java.time.LocalDate;
+
+/**
+ * Source of daily weather for a location. Implementations may be remote and slow; callers go through
+ * {@link com.travelitinerary.planner.service.WeatherService}, which deduplicates and caches lookups.
+ */
+public interface WeatherProvider {
+    
+    /**
+     * Returns the weather at the given coordinates on the given day, or null when the provider has none
+     * (e.g. the date is outside its forecast range).
+     */
+    DailyWeather getDailyWeather(double latitude, double longitude, LocalDate date);
+}
\ No newline at end of file
@@ -0,0 +1,77 @@
+-- Per-user dashboard statistics, maintained incrementally by the services
+CREATE TABLE user_stats (
+    user_id BIGINT NOT NULL,
+    total_trips INT NOT NULL DEFAULT 0,
+    total_destinations INT NOT NULL DEFAULT 0,
+    total_expenses DECIMAL(19, 2) NOT NULL DEFAULT 0,
+    upcoming_trips INT NOT NULL DEFAULT 0,
+    next_start_date DATE,
+    updated_at DATETIME(6),
+    PRIMARY KEY (user_id)
+) ENGINE = InnoDB;
+
+-- Expenses and their running per-category totals
+CREATE TABLE expenses (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    description VARCHAR(255) NOT NULL,
+    amount DECIMAL(19, 2) NOT NULL,
+    category VARCHAR(50) NOT NULL,
+    date DATE NOT NULL,
+    paid_by VARCHAR(255),
+    trip_id BIGINT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_expenses_trip FOREIGN KEY (trip_id) REFERENCES trips (id),
+    INDEX idx_expenses_trip_date (trip_id, date, id)
+) ENGINE = InnoDB;
+
+CREATE TABLE expense_totals (
+    trip_id BIGINT NOT NULL,
+    category VARCHAR(50) NOT NULL,
+    amount DECIMAL(19, 2) NOT NULL DEFAULT 0,
+    expense_count INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (trip_id, category)
+) ENGINE = InnoDB;
+
+-- Table-backed sequence for destination ids (pooled, allocation size 50). The pooled optimizer hands out
+-- the 50 ids up to the value it reads, so the sequence starts a full block above the existing ids.
+CREATE TABLE destination_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+INSERT INTO destination_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 50 FROM destinations;
+
+-- Gapped destination ordering: renumber every trip 1024 apart (this also removes duplicate
+-- indexes left by the old MAX + 1 race) and start each trip's sequence at its highest index.
+-- The new positions go through a scratch table, which H2 (the migration tests) can update from as well.
+CREATE TABLE destination_renumbering (
+    id BIGINT NOT NULL,
+    order_index INT NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+INSERT INTO destination_renumbering (id, order_index)
+SELECT id, ROW_NUMBER() OVER (PARTITION BY trip_id ORDER BY order_index, id) * 1024
+FROM destinations;
+
+UPDATE destinations
+SET order_index = (SELECT r.order_index FROM destination_renumbering r WHERE r.id = destinations.id);
+
+DROP TABLE destination_renumbering;
+
+ALTER TABLE trips ADD COLUMN destination_order_seq INT DEFAULT 0;
+
+UPDATE trips t
+SET t.destination_order_seq = COALESCE((SELECT MAX(d.order_index) FROM destinations d WHERE d.trip_id = t.id), 0);
+
+-- Seed the statistics of existing users
+INSERT INTO user_stats (user_id, total_trips, total_destinations, total_expenses, upcoming_trips, next_start_date)
+SELECT u.id,
+       (SELECT COUNT(*) FROM trips t WHERE t.user_id = u.id),
+       (SELECT COUNT(*) FROM destinations d JOIN trips t ON t.id = d.trip_id WHERE t.user_id = u.id),
+       0,
+       (SELECT COUNT(*) FROM trips t WHERE t.user_id = u.id AND t.start_date >= CURRENT_DATE),
+       (SELECT MIN(t.start_date) FROM trips t WHERE t.user_id = u.id AND t.start_date >= CURRENT_DATE)
+FROM users u;
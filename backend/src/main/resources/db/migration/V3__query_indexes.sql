@@ -0,0 +1,12 @@
+-- Indexes for the access paths in TripRepository and DestinationRepository.
+-- InnoDB secondary indexes carry the primary key, so these also serve the (.., id) keyset tie-breakers.
+
+-- Trip listing and keyset pagination: WHERE user_id = ? ORDER BY created_at DESC, id DESC
+CREATE INDEX idx_trips_user_created ON trips (user_id, created_at);
+
+-- Upcoming-trip counts and the stats boundary: WHERE user_id = ? AND start_date >= ?
+CREATE INDEX idx_trips_user_start ON trips (user_id, start_date);
+
+-- Destination listing, keyset pagination and neighbour lookups: WHERE trip_id = ? ORDER BY order_index
+-- The unique constraint also guarantees that no two destinations of a trip share a position.
+ALTER TABLE destinations ADD CONSTRAINT uk_destinations_trip_order UNIQUE (trip_id, order_index);
@@ -0,0 +1,2 @@
+-- Per-trip content version, bumped on every write to a trip or its destinations; served as the ETag
+ALTER TABLE trips ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
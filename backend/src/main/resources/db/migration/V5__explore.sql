@@ -0,0 +1,21 @@
+-- Public trips for the explore feed, with likes and buffered like/view counters
+ALTER TABLE trips ADD COLUMN is_public BOOLEAN NOT NULL DEFAULT FALSE;
+
+ALTER TABLE trips ADD COLUMN tags VARCHAR(500);
+
+ALTER TABLE trips ADD COLUMN like_count BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE trips ADD COLUMN view_count BIGINT NOT NULL DEFAULT 0;
+
+-- Loading the trending ranking at startup: WHERE is_public = TRUE
+CREATE INDEX idx_trips_public ON trips (is_public);
+
+CREATE TABLE trip_likes (
+    trip_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (trip_id, user_id),
+    KEY idx_trip_likes_user (user_id),
+    CONSTRAINT fk_trip_likes_trip FOREIGN KEY (trip_id) REFERENCES trips (id) ON DELETE CASCADE,
+    CONSTRAINT fk_trip_likes_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+) ENGINE = InnoDB;
@@ -0,0 +1,4 @@
+-- Destination coordinates for route optimization; null when the place could not be located
+ALTER TABLE destinations ADD COLUMN latitude DOUBLE;
+
+ALTER TABLE destinations ADD COLUMN longitude DOUBLE;
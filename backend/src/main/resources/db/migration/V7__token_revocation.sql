@@ -0,0 +1,13 @@
+-- Revoked token ids (logout, refresh rotation); rows are purged once the token would have expired anyway
+CREATE TABLE revoked_tokens (
+    jti CHAR(36) NOT NULL,
+    user_id BIGINT NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (jti),
+    KEY idx_revoked_tokens_expires (expires_at),
+    CONSTRAINT fk_revoked_tokens_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+) ENGINE = InnoDB;
+
+-- Tokens issued before this instant are revoked (password change)
+ALTER TABLE users
+    ADD COLUMN tokens_not_before DATETIME(6);
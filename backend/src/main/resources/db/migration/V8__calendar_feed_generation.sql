@@ -0,0 +1,4 @@
+-- Feed tokens carry the generation of the feed they open; bumping it revokes every URL handed out for that feed
+ALTER TABLE users ADD COLUMN calendar_feed_generation INT NOT NULL DEFAULT 0;
+
+ALTER TABLE trips ADD COLUMN calendar_feed_generation INT NOT NULL DEFAULT 0;
@@ -0,0 +1,7 @@
+-- When each token was revoked, so other instances can poll for revocations newer than their last look
+ALTER TABLE revoked_tokens ADD COLUMN revoked_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
+
+CREATE INDEX idx_revoked_tokens_revoked ON revoked_tokens (revoked_at);
+
+-- The same poll looks for recent password changes
+CREATE INDEX idx_users_tokens_not_before ON users (tokens_not_before);
@@ -0,0 +1,56 @@
+package com.travelitinerary.planner.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Collects raw latency samples for one endpoint; percentiles are computed from the sorted samples.
+ */
+class LatencyRecorder {
+    
+    private final String endpoint;
+    
+    private long[] samples = new long[1024];
+    
+    private int count;
+    
+    private int errors;
+    
+    LatencyRecorder(String endpoint) {
+        this.endpoint = endpoint;
+    }
+    
+    synchronized void record(long nanos, boolean success) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+        if (!success) {
+            errors++;
+        }
+    }
+    
+    synchronized void reset() {
+        count = 0;
+        errors = 0;
+    }
+    
+    synchronized Summary summarize(double elapsedSeconds) {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        return new Summary(endpoint, count, errors, count / elapsedSeconds,
+                percentile(sorted, 50), percentile(sorted, 95), percentile(sorted, 99),
+                count == 0 ? 0 : sorted[count - 1] / 1_000_000.0);
+    }
+    
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(rank - 1, 0)] / 1_000_000.0;
+    }
+    
+    record Summary(String endpoint, int requests, int errors, double throughput,
+                   double p50Ms, double p95Ms, double p99Ms, double maxMs) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,319 @@
+package com.travelitinerary.planner.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.travelitinerary.planner.TravelItineraryPlannerApplication;
+import com.travelitinerary.planner.loadtest.LoadTestSettings.Scenario;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * End-to-end load test: boots the application on a random port against in-memory H2, seeds users, trips and
+ * destinations through the API, then drives a weighted mix of requests from concurrent workers and reports
+ * throughput and latency percentiles per endpoint.
+ *
+ * Run with {@code mvn -Ploadtest test-compile exec:java}; see the {@code loadtest.*} keys in
+ * {@code application-loadtest.yml} for the data scale and scenario mix.
+ */
+public class LoadTestHarness {
+    
+    private static final String PASSWORD = "loadtest-password";
+    
+    private final String baseUrl;
+    
+    private final LoadTestSettings settings;
+    
+    private final ObjectMapper objectMapper;
+    
+    private final HttpClient httpClient;
+    
+    private final Map<String, LatencyRecorder> recorders = new ConcurrentHashMap<>();
+    
+    private final List<SeededUser> users = new ArrayList<>();
+    
+    private final Scenario[] scenarioTable;
+    
+    public LoadTestHarness(String baseUrl, LoadTestSettings settings, ObjectMapper objectMapper) {
+        this.baseUrl = baseUrl;
+        this.settings = settings;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        
+        List<Scenario> table = new ArrayList<>();
+        settings.mix.forEach((scenario, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                table.add(scenario);
+            }
+        });
+        this.scenarioTable = table.toArray(new Scenario[0]);
+    }
+    
+    public static void main(String[] args) throws Exception {
+        runApplication(args);
+    }
+    
+    // Boots a fresh application context for one run and closes it afterwards
+    static Report runApplication(String[] args) throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TravelItineraryPlannerApplication.class)
+                .profiles("loadtest")
+                .run(args);
+        try {
+            String port = context.getEnvironment().getRequiredProperty("local.server.port");
+            String contextPath = context.getEnvironment().getProperty("server.servlet.context-path", "");
+            LoadTestSettings settings = new LoadTestSettings(context.getEnvironment());
+            
+            LoadTestHarness harness = new LoadTestHarness("http://localhost:" + port + contextPath,
+                    settings, context.getBean(ObjectMapper.class));
+            return harness.run();
+        } finally {
+            context.close();
+        }
+    }
+    
+    public Report run() throws Exception {
+        System.out.println("Load test: " + settings);
+        
+        long seedStart = System.nanoTime();
+        seed();
+        System.out.printf("Seeded %d users in %.1fs%n", users.size(), (System.nanoTime() - seedStart) / 1e9);
+        
+        runPhase(settings.warmup);
+        recorders.values().forEach(LatencyRecorder::reset);
+        
+        long start = System.nanoTime();
+        runPhase(settings.duration);
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        
+        return report(elapsedSeconds);
+    }
+    
+    private void seed() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(settings.concurrency);
+        try {
+            List<Future<SeededUser>> futures = new ArrayList<>();
+            for (int i = 0; i < settings.users; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> seedUser(index)));
+            }
+            for (Future<SeededUser> future : futures) {
+                users.add(future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        recorders.clear();
+    }
+    
+    private SeededUser seedUser(int index) throws IOException, InterruptedException {
+        String email = "loadtest-user-" + index + "@example.com";
+        
+        Map<String, Object> signup = new HashMap<>();
+        signup.put("name", "Load Test User " + index);
+        signup.put("email", email);
+        signup.put("password", PASSWORD);
+        JsonNode auth = expectOk(call("POST /auth/signup", post("/auth/signup", null, signup)));
+        String token = auth.path("token").asText();
+        
+        SeededUser user = new SeededUser(email, token);
+        LocalDate today = LocalDate.now();
+        for (int t = 0; t < settings.tripsPerUser; t++) {
+            // Spread start dates around today so both past and upcoming trips exist
+            LocalDate startDate = today.plusDays((t % 2 == 0 ? 1 : -1) * (7L * (t + 1)));
+            
+            Map<String, Object> trip = new HashMap<>();
+            trip.put("title", "Trip " + t);
+            trip.put("description", "Seeded by the load-test harness");
+            trip.put("startDate", startDate.toString());
+            trip.put("endDate", startDate.plusDays(settings.destinationsPerTrip).toString());
+            long tripId = expectOk(call("POST /trips", post("/trips", token, trip))).path("trip").path("id").asLong();
+            user.tripIds.add(tripId);
+            
+            if (settings.destinationsPerTrip > 0) {
+                List<Map<String, Object>> destinations = new ArrayList<>();
+                for (int d = 0; d < settings.destinationsPerTrip; d++) {
+                    destinations.add(destination("Stop " + d, startDate.plusDays(d)));
+                }
+                expectOk(call("POST /trips/{id}/destinations/batch",
+                        post("/trips/" + tripId + "/destinations/batch", token, Map.of("destinations", destinations))));
+            }
+        }
+        return user;
+    }
+    
+    private void runPhase(Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(settings.concurrency);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < settings.concurrency; i++) {
+                workers.add(executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        runScenario();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+    private void runScenario() throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        SeededUser user = users.get(random.nextInt(users.size()));
+        long tripId = user.tripIds.get(random.nextInt(user.tripIds.size()));
+        
+        switch (scenarioTable[random.nextInt(scenarioTable.length)]) {
+            case LOGIN -> call("POST /auth/login", post("/auth/login", null,
+                    Map.of("email", user.email, "password", PASSWORD)));
+            case LIST_TRIPS -> call("GET /trips", get("/trips?limit=20", user.token));
+            case GET_TRIP -> call("GET /trips/{id}", get("/trips/" + tripId, user.token));
+            case LIST_DESTINATIONS -> call("GET /trips/{id}/destinations",
+                    get("/trips/" + tripId + "/destinations", user.token));
+            case DESTINATION_CRUD -> destinationCrud(user, tripId);
+            case DASHBOARD -> call("GET /dashboard/stats", get("/dashboard/stats", user.token));
+        }
+    }
+    
+    private void destinationCrud(SeededUser user, long tripId) throws IOException, InterruptedException {
+        String path = "/trips/" + tripId + "/destinations";
+        HttpResponse<String> created = call("POST /trips/{id}/destinations",
+                post(path, user.token, destination("Added stop", LocalDate.now())));
+        if (created.statusCode() != 200) {
+            return;
+        }
+        long destinationId = objectMapper.readTree(created.body()).path("destination").path("id").asLong();
+        
+        call("PUT /trips/{id}/destinations/{destinationId}", request(path + "/" + destinationId, user.token)
+                .PUT(json(destination("Updated stop", LocalDate.now().plusDays(1))))
+                .build());
+        call("DELETE /trips/{id}/destinations/{destinationId}", request(path + "/" + destinationId, user.token)
+                .DELETE()
+                .build());
+    }
+    
+    private HttpResponse<String> call(String endpoint, HttpRequest request) throws IOException, InterruptedException {
+        LatencyRecorder recorder = recorders.computeIfAbsent(endpoint, LatencyRecorder::new);
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            recorder.record(System.nanoTime() - start, response.statusCode() < 400);
+            return response;
+        } catch (IOException e) {
+            recorder.record(System.nanoTime() - start, false);
+            throw e;
+        }
+    }
+    
+    private JsonNode expectOk(HttpResponse<String> response) throws IOException {
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Seeding request " + response.request().uri() + " failed with "
+                    + response.statusCode() + ": " + response.body());
+        }
+        return objectMapper.readTree(response.body());
+    }
+    
+    private Map<String, Object> destination(String name, LocalDate date) {
+        Map<String, Object> destination = new HashMap<>();
+        destination.put("name", name);
+        destination.put("description", "Sightseeing and lunch");
+        destination.put("date", date.toString());
+        destination.put("time", "10:00:00");
+        destination.put("address", "1 Main Street");
+        return destination;
+    }
+    
+    private HttpRequest get(String path, String token) {
+        return request(path, token).GET().build();
+    }
+    
+    private HttpRequest post(String path, String token, Object body) throws IOException {
+        return request(path, token).POST(json(body)).build();
+    }
+    
+    private HttpRequest.BodyPublisher json(Object body) throws IOException {
+        return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+    }
+    
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+    
+    private Report report(double elapsedSeconds) {
+        List<LatencyRecorder.Summary> summaries = recorders.values().stream()
+                .map(recorder -> recorder.summarize(elapsedSeconds))
+                .sorted((a, b) -> a.endpoint().compareTo(b.endpoint()))
+                .toList();
+        
+        String format = "%-52s %9s %7s %10s %9s %9s %9s %9s%n";
+        System.out.printf("%nMeasured %.1fs%n", elapsedSeconds);
+        System.out.printf(format, "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        int totalRequests = 0;
+        int totalErrors = 0;
+        for (LatencyRecorder.Summary summary : summaries) {
+            System.out.printf(format, summary.endpoint(), summary.requests(), summary.errors(),
+                    String.format("%.1f", summary.throughput()),
+                    String.format("%.2f", summary.p50Ms()), String.format("%.2f", summary.p95Ms()),
+                    String.format("%.2f", summary.p99Ms()), String.format("%.2f", summary.maxMs()));
+            totalRequests += summary.requests();
+            totalErrors += summary.errors();
+        }
+        System.out.printf(format, "Total", totalRequests, totalErrors,
+                String.format("%.1f", totalRequests / elapsedSeconds), "", "", "", "");
+        return new Report(settings, elapsedSeconds, summaries);
+    }
+    
+    record Report(LoadTestSettings settings, double elapsedSeconds, List<LatencyRecorder.Summary> summaries) {
+        
+        int totalRequests() {
+            return summaries.stream().mapToInt(LatencyRecorder.Summary::requests).sum();
+        }
+        
+        int totalErrors() {
+            return summaries.stream().mapToInt(LatencyRecorder.Summary::errors).sum();
+        }
+    }
+    
+    private static class SeededUser {
+        
+        final String email;
+        
+        final String token;
+        
+        final List<Long> tripIds = new ArrayList<>();
+        
+        SeededUser(String email, String token) {
+            this.email = email;
+            this.token = token;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,104 @@
+package com.travelitinerary.planner.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Data scale and scenario mix for a load-test run, read from the {@code loadtest.*} properties.
+ */
+class LoadTestSettings {
+    
+    final int users;
+    
+    final int tripsPerUser;
+    
+    final int destinationsPerTrip;
+    
+    final int concurrency;
+    
+    final Duration warmup;
+    
+    final Duration duration;
+    
+    final Map<Scenario, Integer> mix;
+    
+    final boolean virtualThreads;
+    
+    LoadTestSettings(Environment environment) {
+        this.users = environment.getProperty("loadtest.users", Integer.class, 20);
+        this.tripsPerUser = environment.getProperty("loadtest.trips-per-user", Integer.class, 10);
+        this.destinationsPerTrip = environment.getProperty("loadtest.destinations-per-trip", Integer.class, 10);
+        this.concurrency = environment.getProperty("loadtest.concurrency", Integer.class, 16);
+        this.warmup = DurationStyle.detectAndParse(environment.getProperty("loadtest.warmup", "10s"));
+        this.duration = DurationStyle.detectAndParse(environment.getProperty("loadtest.duration", "30s"));
+        this.mix = parseMix(environment.getProperty("loadtest.mix", ""));
+        this.virtualThreads = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        
+        if (users <= 0 || tripsPerUser <= 0 || concurrency <= 0) {
+            throw new IllegalArgumentException("loadtest.users, trips-per-user and concurrency must be positive");
+        }
+    }
+    
+    private static Map<Scenario, Integer> parseMix(String mix) {
+        Map<Scenario, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid loadtest.mix entry: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(Scenario.fromKey(parts[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            for (Scenario scenario : Scenario.values()) {
+                weights.put(scenario, 1);
+            }
+        }
+        return weights;
+    }
+    
+    @Override
+    public String toString() {
+        return users + " users x " + tripsPerUser + " trips x " + destinationsPerTrip + " destinations, "
+                + concurrency + " workers, warmup " + warmup.toSeconds() + "s, measured " + duration.toSeconds()
+                + "s, mix " + mix + ", " + (virtualThreads ? "virtual" : "platform") + " request threads";
+    }
+    
+    enum Scenario {
+        LOGIN("login"),
+        LIST_TRIPS("list-trips"),
+        GET_TRIP("get-trip"),
+        LIST_DESTINATIONS("list-destinations"),
+        DESTINATION_CRUD("destination-crud"),
+        DASHBOARD("dashboard");
+        
+        private final String key;
+        
+        Scenario(String key) {
+            this.key = key;
+        }
+        
+        static Scenario fromKey(String key) {
+            for (Scenario scenario : values()) {
+                if (scenario.key.equals(key)) {
+                    return scenario;
+                }
+            }
+            throw new IllegalArgumentException("Unknown load-test scenario: " + key);
+        }
+        
+        @Override
+        public String toString() {
+            return key;
+        }
+    }
+}
\ No newline at end of file
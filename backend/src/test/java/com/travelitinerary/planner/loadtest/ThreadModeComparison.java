@@ -0,0 +1,73 @@
+package com.travelitinerary.planner.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the load test twice with the same settings, first on platform request threads and then on virtual ones,
+ * each against a fresh application context, and prints the two runs side by side per endpoint.
+ *
+ * Run with {@code mvn -Ploadtest test-compile exec:java -Dloadtest.main=com.travelitinerary.planner.loadtest.ThreadModeComparison};
+ * the {@code loadtest.*} keys apply to both runs.
+ */
+public class ThreadModeComparison {
+    
+    public static void main(String[] args) throws Exception {
+        LoadTestHarness.Report platform = LoadTestHarness.runApplication(withThreadMode(args, false));
+        LoadTestHarness.Report virtual = LoadTestHarness.runApplication(withThreadMode(args, true));
+        print(platform, virtual);
+    }
+    
+    // Command-line arguments take precedence over -D properties, so both runs get the intended mode
+    private static String[] withThreadMode(String[] args, boolean virtualThreads) {
+        String[] withMode = Arrays.copyOf(args, args.length + 1);
+        withMode[args.length] = "--spring.threads.virtual.enabled=" + virtualThreads;
+        return withMode;
+    }
+    
+    private static void print(LoadTestHarness.Report platform, LoadTestHarness.Report virtual) {
+        Map<String, LatencyRecorder.Summary> platformByEndpoint = byEndpoint(platform);
+        Map<String, LatencyRecorder.Summary> virtualByEndpoint = byEndpoint(virtual);
+        Set<String> endpoints = new LinkedHashSet<>(platformByEndpoint.keySet());
+        endpoints.addAll(virtualByEndpoint.keySet());
+        
+        String format = "%-52s %12s %12s %8s %12s %12s %12s %12s %8s %8s%n";
+        System.out.printf("%nPlatform vs virtual request threads, %d workers, measured %.1fs and %.1fs%n",
+                platform.settings().concurrency, platform.elapsedSeconds(), virtual.elapsedSeconds());
+        System.out.printf(format, "Endpoint", "Req/s plat", "Req/s virt", "Change",
+                "p95 ms plat", "p95 ms virt", "p99 ms plat", "p99 ms virt", "Err plat", "Err virt");
+        for (String endpoint : endpoints.stream().sorted().toList()) {
+            LatencyRecorder.Summary p = platformByEndpoint.get(endpoint);
+            LatencyRecorder.Summary v = virtualByEndpoint.get(endpoint);
+            System.out.printf(format, endpoint,
+                    p != null ? String.format("%.1f", p.throughput()) : "-",
+                    v != null ? String.format("%.1f", v.throughput()) : "-",
+                    p != null && v != null ? change(p.throughput(), v.throughput()) : "-",
+                    p != null ? String.format("%.2f", p.p95Ms()) : "-",
+                    v != null ? String.format("%.2f", v.p95Ms()) : "-",
+                    p != null ? String.format("%.2f", p.p99Ms()) : "-",
+                    v != null ? String.format("%.2f", v.p99Ms()) : "-",
+                    p != null ? p.errors() : "-",
+                    v != null ? v.errors() : "-");
+        }
+        double platformThroughput = platform.totalRequests() / platform.elapsedSeconds();
+        double virtualThroughput = virtual.totalRequests() / virtual.elapsedSeconds();
+        System.out.printf(format, "Total",
+                String.format("%.1f", platformThroughput), String.format("%.1f", virtualThroughput),
+                change(platformThroughput, virtualThroughput), "", "", "", "",
+                platform.totalErrors(), virtual.totalErrors());
+    }
+    
+    private static Map<String, LatencyRecorder.Summary> byEndpoint(LoadTestHarness.Report report) {
+        return report.summaries().stream()
+                .collect(Collectors.toMap(LatencyRecorder.Summary::endpoint, Function.identity()));
+    }
+    
+    private static String change(double before, double after) {
+        return before > 0 ? String.format("%+.0f%%", (after - before) / before * 100) : "-";
+    }
+}
\ No newline at end of file
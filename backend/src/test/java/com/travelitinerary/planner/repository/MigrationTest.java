@@ -0,0 +1,86 @@
+package com.travelitinerary.planner.repository;
+
+import com.travelitinerary.planner.model.Destination;
+import com.travelitinerary.planner.model.Trip;
+import com.travelitinerary.planner.service.DestinationOrderService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Migrates a database that already holds V1 data, as existing installations do, and then writes through the
+ * entities. Uses its own in-memory database so the populated V1 state is not shared with other contexts.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:migration;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@ActiveProfiles({"test", "migrated"})
+class MigrationTest {
+    
+    // More than one allocation block, so ids handed out below the existing maximum would collide
+    private static final int LEGACY_DESTINATIONS = 120;
+    
+    private static final int NEW_DESTINATIONS = 60;
+    
+    @Autowired
+    private TripRepository tripRepository;
+    
+    @Autowired
+    private DestinationRepository destinationRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Test
+    void newDestinationIdsStartAboveMigratedRows() {
+        Long tripId = jdbcTemplate.queryForObject("SELECT id FROM trips WHERE title = 'Legacy Trip'", Long.class);
+        Trip trip = tripRepository.findById(tripId).orElseThrow();
+        int lastIndex = jdbcTemplate.queryForObject(
+                "SELECT MAX(order_index) FROM destinations WHERE trip_id = ?", Integer.class, tripId);
+        
+        List<Destination> destinations = new ArrayList<>();
+        for (int i = 1; i <= NEW_DESTINATIONS; i++) {
+            destinations.add(new Destination("New Stop " + i, null, trip.getStartDate(), null, null, null,
+                    lastIndex + i * DestinationOrderService.ORDER_GAP, trip));
+        }
+        for (Destination destination : destinationRepository.saveAll(destinations)) {
+            assertTrue(destination.getId() > LEGACY_DESTINATIONS, "destination got id " + destination.getId());
+        }
+        
+        assertEquals(LEGACY_DESTINATIONS + NEW_DESTINATIONS, destinationRepository.countByTripId(tripId));
+    }
+    
+    @TestConfiguration
+    static class PopulatedV1 {
+        
+        // Stops at V1, fills it the way the former ddl-auto schema was filled, then applies the remaining versions
+        @Bean
+        FlywayMigrationStrategy migrateFromPopulatedV1() {
+            return flyway -> {
+                Flyway.configure().configuration(flyway.getConfiguration()).target("1").load().migrate();
+                JdbcTemplate jdbc = new JdbcTemplate(flyway.getConfiguration().getDataSource());
+                jdbc.update("INSERT INTO users (name, email, password, created_at) " +
+                        "VALUES ('Legacy User', 'legacy@example.com', 'not-a-real-hash', CURRENT_TIMESTAMP)");
+                jdbc.update("INSERT INTO trips (title, start_date, end_date, user_id, created_at) " +
+                        "SELECT 'Legacy Trip', ?, ?, id, CURRENT_TIMESTAMP FROM users WHERE email = 'legacy@example.com'",
+                        LocalDate.now().plusDays(30), LocalDate.now().plusDays(37));
+                // AUTO_INCREMENT ids and the old MAX + 1 order indexes, duplicates included
+                jdbc.update("INSERT INTO destinations (id, name, date, order_index, trip_id, created_at) " +
+                        "SELECT x, CONCAT('Legacy Stop ', x), t.start_date, x / 2, t.id, CURRENT_TIMESTAMP " +
+                        "FROM trips t CROSS JOIN SYSTEM_RANGE(1, " + LEGACY_DESTINATIONS + ") WHERE t.title = 'Legacy Trip'");
+                flyway.migrate();
+            };
+        }
+    }
+}
\ No newline at end of file
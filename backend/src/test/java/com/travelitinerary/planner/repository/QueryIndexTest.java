@@ -0,0 +1,217 @@
+package com.travelitinerary.planner.repository;
+
+import com.travelitinerary.planner.model.Destination;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the query plans of the hot TripRepository and DestinationRepository queries on the Flyway-migrated schema.
+ * Each test calls the repository method, records the SQL Hibernate prepares for it and has H2 EXPLAIN that statement.
+ */
+@SpringBootTest
+@ActiveProfiles({"test", "migrated"})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryIndexTest {
+    
+    private static final int USERS = 200;
+    
+    private static final int TRIPS_PER_USER = 50;
+    
+    private static final int DESTINATIONS_PER_TRIP = 5;
+    
+    private static final PageRequest PAGE = PageRequest.of(0, 51);
+    
+    private static final String TRIPS_BY_USER_CREATED = "idx_trips_user_created";
+    
+    private static final String TRIPS_BY_USER_START = "idx_trips_user_start";
+    
+    private static final String DESTINATIONS_BY_TRIP_ORDER = "uk_destinations_trip_order";
+    
+    // H2 keeps the index it created for each V1 foreign key, which MySQL drops once V3 adds a wider index on the same
+    // leading column. For an equality on that column alone H2 prices the two the same and keeps the older one.
+    private static final String TRIPS_BY_USER_FK = "fk_trips_user";
+    
+    private static final String DESTINATIONS_BY_TRIP_FK = "fk_destinations_trip";
+    
+    @Autowired
+    private TripRepository tripRepository;
+    
+    @Autowired
+    private DestinationRepository destinationRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private StatementRecorder statementRecorder;
+    
+    private Long userId;
+    
+    private Long tripId;
+    
+    // 200 users, 10,000 trips and 50,000 destinations, then fresh statistics for the optimizer
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("INSERT INTO users (name, email, password, created_at) " +
+                "SELECT CONCAT('Plan User ', x), CONCAT('plan-', x, '@example.com'), 'not-a-real-hash', CURRENT_TIMESTAMP " +
+                "FROM SYSTEM_RANGE(1, " + USERS + ")");
+        jdbcTemplate.update("INSERT INTO trips (title, start_date, end_date, user_id, created_at, destination_order_seq, " +
+                "is_public) " +
+                "SELECT CONCAT('Plan Trip ', r.x), DATEADD(DAY, r.x * 7 - 180, CURRENT_DATE), " +
+                "DATEADD(DAY, r.x * 7 - 175, CURRENT_DATE), u.id, DATEADD(HOUR, r.x - 1000, CURRENT_TIMESTAMP), " +
+                DESTINATIONS_PER_TRIP * 1024 + ", MOD(r.x, 10) = 0 " +
+                "FROM users u CROSS JOIN SYSTEM_RANGE(1, " + TRIPS_PER_USER + ") r WHERE u.email LIKE 'plan-%@example.com'");
+        jdbcTemplate.update("INSERT INTO destinations (id, name, date, order_index, trip_id, created_at) " +
+                "SELECT t.id * " + DESTINATIONS_PER_TRIP + " + r.x, CONCAT('Plan Stop ', r.x), t.start_date, r.x * 1024, " +
+                "t.id, t.created_at " +
+                "FROM trips t JOIN users u ON u.id = t.user_id CROSS JOIN SYSTEM_RANGE(1, " + DESTINATIONS_PER_TRIP + ") r " +
+                "WHERE u.email LIKE 'plan-%@example.com'");
+        // Keeps ids handed out through the entities clear of the seeded ones
+        jdbcTemplate.update("UPDATE destination_seq SET next_val = (SELECT MAX(id) FROM destinations) + 50");
+        jdbcTemplate.execute("ANALYZE");
+        
+        userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'plan-100@example.com'", Long.class);
+        tripId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM trips WHERE user_id = ?", Long.class, userId);
+    }
+    
+    @Test
+    void tripSummariesUseUserIndexAndDestinationOrderIndex() {
+        String plan = explain(() -> tripRepository.findTripSummariesByUserId(userId, PAGE));
+        
+        assertUsesIndex(plan, TRIPS_BY_USER_CREATED, TRIPS_BY_USER_START, TRIPS_BY_USER_FK);
+        assertUsesIndex(plan, DESTINATIONS_BY_TRIP_ORDER, DESTINATIONS_BY_TRIP_FK);
+    }
+    
+    @Test
+    void tripSummaryPagesUseUserIndex() {
+        String plan = explain(() -> tripRepository.findTripSummariesByUserIdAfter(userId, LocalDateTime.now(), tripId, PAGE));
+        
+        assertUsesIndex(plan, TRIPS_BY_USER_CREATED, TRIPS_BY_USER_START, TRIPS_BY_USER_FK);
+        assertUsesIndex(plan, DESTINATIONS_BY_TRIP_ORDER, DESTINATIONS_BY_TRIP_FK);
+    }
+    
+    // The start_date range narrows idx_trips_user_start beyond the user_id lookup the other two indexes offer
+    @Test
+    void upcomingTripCountUsesUserStartIndex() {
+        assertUsesIndex(explain(() -> tripRepository.countUpcomingTripsByUserId(userId, LocalDate.now())),
+                TRIPS_BY_USER_START);
+    }
+    
+    @Test
+    void destinationPagesUseTripIndex() {
+        assertUsesIndex(explain(() -> destinationRepository.findPageByTripId(tripId, PAGE)),
+                DESTINATIONS_BY_TRIP_ORDER, DESTINATIONS_BY_TRIP_FK);
+        assertUsesIndex(explain(() -> destinationRepository.findPageByTripIdAfter(tripId, 1024, 0L, PAGE)),
+                DESTINATIONS_BY_TRIP_ORDER, DESTINATIONS_BY_TRIP_FK);
+    }
+    
+    // The order_index range and the covered MIN can only be served by the V3 constraint's index
+    @Test
+    void destinationOrderLookupsUseTripOrderIndex() {
+        assertUsesIndex(explain(() -> destinationRepository.findMinOrderIndexByTripId(tripId)),
+                DESTINATIONS_BY_TRIP_ORDER);
+        assertUsesIndex(explain(() -> destinationRepository.findNextInOrder(tripId, 1024, 0L, PageRequest.of(0, 1))),
+                DESTINATIONS_BY_TRIP_ORDER);
+        assertUsesIndex(explain(() -> destinationRepository.findFirstInOrder(tripId, 0L, PageRequest.of(0, 1))),
+                DESTINATIONS_BY_TRIP_ORDER, DESTINATIONS_BY_TRIP_FK);
+    }
+    
+    @Test
+    void exportStreamUsesUserIndexAndDestinationTripIndex() {
+        String plan = explain(() -> transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Destination> destinations = destinationRepository.streamByUserId(userId)) {
+                destinations.findFirst();
+            }
+        }));
+        
+        assertUsesIndex(plan, TRIPS_BY_USER_CREATED, TRIPS_BY_USER_START, TRIPS_BY_USER_FK);
+        assertUsesIndex(plan, DESTINATIONS_BY_TRIP_ORDER, DESTINATIONS_BY_TRIP_FK);
+    }
+    
+    // Plans the first statement the call prepares, which is the repository query itself; only planning happens,
+    // so every parameter can be bound to null
+    private String explain(Runnable call) {
+        List<String> statements = statementRecorder.record(call);
+        assertFalse(statements.isEmpty(), "The call prepared no statement");
+        return jdbcTemplate.query("EXPLAIN " + statements.get(0), ps -> {
+            for (int i = 1; i <= ps.getParameterMetaData().getParameterCount(); i++) {
+                ps.setNull(i, Types.NULL);
+            }
+        }, rs -> rs.next() ? rs.getString(1) : "").toLowerCase();
+    }
+    
+    // The plan names the index H2 reads each table through; a table without a usable index shows a tableScan
+    private static void assertUsesIndex(String plan, String... indexes) {
+        assertTrue(Arrays.stream(indexes).anyMatch(plan::contains),
+                () -> "Expected one of " + Arrays.toString(indexes) + " in plan:\n" + plan);
+        assertFalse(plan.contains("tablescan"), () -> "Unexpected table scan in plan:\n" + plan);
+    }
+    
+    // Keeps the SQL Hibernate prepares while a call is recorded
+    static class StatementRecorder implements StatementInspector {
+        
+        private final List<String> statements = new CopyOnWriteArrayList<>();
+        
+        private volatile boolean recording;
+        
+        @Override
+        public String inspect(String sql) {
+            if (recording) {
+                statements.add(sql);
+            }
+            return sql;
+        }
+        
+        List<String> record(Runnable call) {
+            statements.clear();
+            recording = true;
+            try {
+                call.run();
+            } finally {
+                recording = false;
+            }
+            return new ArrayList<>(statements);
+        }
+    }
+    
+    @TestConfiguration
+    static class Recording {
+        
+        @Bean
+        StatementRecorder statementRecorder() {
+            return new StatementRecorder();
+        }
+        
+        @Bean
+        HibernatePropertiesCustomizer statementInspector(StatementRecorder statementRecorder) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementRecorder);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,125 @@
+package com.travelitinerary.planner.service;
+
+import com.travelitinerary.planner.dto.DestinationOrderRequest;
+import com.travelitinerary.planner.dto.DestinationRequest;
+import com.travelitinerary.planner.dto.DestinationResponse;
+import com.travelitinerary.planner.model.Trip;
+import com.travelitinerary.planner.model.User;
+import com.travelitinerary.planner.repository.TripRepository;
+import com.travelitinerary.planner.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class DestinationOrderServiceTest {
+    
+    private static final int THREADS = 8;
+    
+    private static final int APPENDS_PER_THREAD = 25;
+    
+    @Autowired
+    private DestinationService destinationService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private TripRepository tripRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    private String email;
+    
+    private Long tripId;
+    
+    @BeforeEach
+    void createTrip() {
+        email = "order-" + UUID.randomUUID() + "@example.com";
+        User user = userRepository.save(new User("Order Test", email, "not-a-real-hash"));
+        LocalDate start = LocalDate.now().plusDays(30);
+        tripId = tripRepository.save(new Trip("Ordering", null, start, start.plusDays(7), user)).getId();
+    }
+    
+    @Test
+    void concurrentAppendsGetDistinctGappedIndexes() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Callable<Void>> workers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                workers.add(() -> {
+                    for (int i = 0; i < APPENDS_PER_THREAD; i++) {
+                        destinationService.createDestination(tripId, destination("Stop " + thread + "-" + i), email);
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> worker : executor.invokeAll(workers)) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        
+        // Every append got its own slot, and together they fill the sequence without holes
+        assertEquals(expectedIndexes(THREADS * APPENDS_PER_THREAD), orderIndexes());
+    }
+    
+    @Test
+    void exhaustedGapRenumbersInPlaceAndRewindsTheSequence() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(destinationService.createDestination(tripId, destination("Stop " + i), email).getId());
+        }
+        
+        // Alternately placing the last two stops right after the first halves the gap each time until none is left
+        for (int i = 0; i < 24; i++) {
+            Long moved = ids.get(1 + i % 2);
+            destinationService.reorderDestinations(tripId, List.of(new DestinationOrderRequest.Move(moved, ids.get(0))), email);
+        }
+        // The gap ran out twice; each renumbering restarted from the first slot instead of moving above the maximum
+        List<Integer> indexes = orderIndexes();
+        assertEquals(3, indexes.size());
+        assertTrue(indexes.get(0) >= DestinationOrderService.ORDER_GAP);
+        assertTrue(indexes.get(2) <= 3 * DestinationOrderService.ORDER_GAP);
+        
+        // and rewound the sequence, so appending continues right after the last stop
+        DestinationResponse appended = destinationService.createDestination(tripId, destination("Last"), email);
+        assertEquals(4 * DestinationOrderService.ORDER_GAP, appended.getOrderIndex());
+    }
+    
+    private List<Integer> orderIndexes() {
+        return jdbcTemplate.queryForList(
+                "SELECT order_index FROM destinations WHERE trip_id = ? ORDER BY order_index", Integer.class, tripId);
+    }
+    
+    private static List<Integer> expectedIndexes(int count) {
+        List<Integer> expected = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            expected.add(i * DestinationOrderService.ORDER_GAP);
+        }
+        return expected;
+    }
+    
+    private static DestinationRequest destination(String name) {
+        return new DestinationRequest(name, null, LocalDate.now().plusDays(30), null, null, null);
+    }
+}
\ No newline at end of file
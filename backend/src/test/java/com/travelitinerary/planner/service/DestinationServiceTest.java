@@ -0,0 +1,93 @@
+package com.travelitinerary.planner.service;
+
+import com.travelitinerary.planner.dto.DestinationRequest;
+import com.travelitinerary.planner.model.Trip;
+import com.travelitinerary.planner.model.User;
+import com.travelitinerary.planner.repository.DestinationRepository;
+import com.travelitinerary.planner.repository.TripRepository;
+import com.travelitinerary.planner.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class DestinationServiceTest {
+    
+    private static final int DESTINATIONS = 500;
+    
+    @Autowired
+    private DestinationService destinationService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private TripRepository tripRepository;
+    
+    @Autowired
+    private DestinationRepository destinationRepository;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+    
+    @Test
+    void batchImportPreparesFarFewerStatementsThanSingleInserts() {
+        String email = "import-" + UUID.randomUUID() + "@example.com";
+        User user = userRepository.save(new User("Import Test", email, "not-a-real-hash"));
+        Long singleTripId = createTrip(user);
+        Long batchTripId = createTrip(user);
+        List<DestinationRequest> requests = requests(DESTINATIONS);
+        
+        // Warm both paths so the first sequence allocation is not counted
+        destinationService.createDestination(createTrip(user), requests.get(0), email);
+        destinationService.createDestinations(createTrip(user), requests.subList(0, batchSize), email);
+        
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        for (DestinationRequest request : requests) {
+            destinationService.createDestination(singleTripId, request, email);
+        }
+        long singleStatements = statistics.getPrepareStatementCount();
+        
+        statistics.clear();
+        destinationService.createDestinations(batchTripId, requests, email);
+        long batchStatements = statistics.getPrepareStatementCount();
+        
+        assertEquals(DESTINATIONS, destinationRepository.countByTripId(singleTripId));
+        assertEquals(DESTINATIONS, destinationRepository.countByTripId(batchTripId));
+        // One statement per insert batch and per id block, plus a fixed handful for ownership, ordering and counters
+        int batches = (DESTINATIONS + batchSize - 1) / batchSize;
+        assertTrue(batchStatements <= 2 * batches + 10, "batch import prepared " + batchStatements + " statements");
+        assertTrue(singleStatements >= DESTINATIONS, "single inserts prepared " + singleStatements + " statements");
+    }
+    
+    private Long createTrip(User user) {
+        LocalDate start = LocalDate.now().plusDays(30);
+        return tripRepository.save(new Trip("Import", null, start, start.plusDays(7), user)).getId();
+    }
+    
+    private static List<DestinationRequest> requests(int count) {
+        List<DestinationRequest> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            requests.add(new DestinationRequest("Stop " + i, null, LocalDate.now().plusDays(30), null, null, null));
+        }
+        return requests;
+    }
+}
\ No newline at end of file
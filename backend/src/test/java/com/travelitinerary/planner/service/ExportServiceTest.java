@@ -0,0 +1,125 @@
+package com.travelitinerary.planner.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.travelitinerary.planner.model.User;
+import com.travelitinerary.planner.repository.UserRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Streams a 100k-destination account through {@link ExportService#writeAccount} and checks that the live heap
+ * stays flat while the document is produced. Runs only in the {@code export-heap} surefire execution, in its
+ * own JVM with {@code -Xmx256m}, where an export that buffered the account would also run out of memory.
+ */
+@Tag("export-heap")
+@SpringBootTest
+@ActiveProfiles("test")
+class ExportServiceTest {
+    
+    private static final int TRIPS = 100;
+    
+    private static final int DESTINATIONS_PER_TRIP = 1000;
+    
+    // Destinations parsed between live-heap samples
+    private static final int SAMPLE_EVERY = 10_000;
+    
+    private static final long MAX_HEAP_GROWTH = 64L << 20;
+    
+    @Autowired
+    private ExportService exportService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Test
+    void exportStreamsLargeAccountWithinBoundedHeap() throws Exception {
+        Long userId = seed();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long baseline = memory.getHeapMemoryUsage().getUsed();
+        
+        PipedInputStream body = new PipedInputStream(64 * 1024);
+        PipedOutputStream sink = new PipedOutputStream(body);
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+            try (sink) {
+                exportService.writeAccount(userId, sink);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        
+        // Counts trips and destinations while parsing the document as it arrives, sampling the live heap as it goes
+        long tripCount = 0;
+        long destinationCount = 0;
+        long peakGrowth = 0;
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token != JsonToken.FIELD_NAME) {
+                    continue;
+                }
+                String field = parser.currentName();
+                if ("trips".equals(field)) {
+                    parser.nextToken();
+                } else if ("destinations".equals(field)) {
+                    tripCount++;
+                    parser.nextToken();
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        parser.skipChildren();
+                        if (++destinationCount % SAMPLE_EVERY == 0) {
+                            System.gc();
+                            peakGrowth = Math.max(peakGrowth, memory.getHeapMemoryUsage().getUsed() - baseline);
+                        }
+                    }
+                } else {
+                    parser.nextToken();
+                    parser.skipChildren();
+                }
+            }
+        }
+        writer.join();
+        
+        assertEquals(TRIPS, tripCount);
+        assertEquals((long) TRIPS * DESTINATIONS_PER_TRIP, destinationCount);
+        assertTrue(peakGrowth < MAX_HEAP_GROWTH, "live heap grew by " + (peakGrowth >> 20) + " MB during the export");
+    }
+    
+    // One user with TRIPS x DESTINATIONS_PER_TRIP destinations, inserted set-wise so seeding stays quick
+    private Long seed() {
+        String email = "export-" + UUID.randomUUID() + "@example.com";
+        Long userId = userRepository.save(new User("Export Test", email, "not-a-real-hash")).getId();
+        jdbcTemplate.update("INSERT INTO trips (title, description, start_date, end_date, user_id, created_at, " +
+                "destination_order_seq, version, is_public, like_count, view_count, calendar_feed_generation) " +
+                "SELECT CONCAT('Export trip ', x), 'Seeded by the export test', DATEADD(DAY, 30, CURRENT_DATE), " +
+                "DATEADD(DAY, 44, CURRENT_DATE), ?, CURRENT_TIMESTAMP, ?, 0, FALSE, 0, 0, 0 " +
+                "FROM SYSTEM_RANGE(1, " + TRIPS + ")", userId, DESTINATIONS_PER_TRIP * DestinationOrderService.ORDER_GAP);
+        jdbcTemplate.update("INSERT INTO destinations (id, name, description, date, address, order_index, trip_id, created_at) " +
+                "SELECT NEXT VALUE FOR destination_seq, CONCAT('Stop ', r.x), 'Sightseeing and lunch', t.start_date, '1 Main Street', r.x * ?, t.id, " +
+                "CURRENT_TIMESTAMP FROM trips t CROSS JOIN SYSTEM_RANGE(1, " + DESTINATIONS_PER_TRIP + ") r WHERE t.user_id = ?",
+                DestinationOrderService.ORDER_GAP, userId);
+        return userId;
+    }
+}
\ No newline at end of file
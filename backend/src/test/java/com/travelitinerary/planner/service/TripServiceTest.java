@@ -0,0 +1,87 @@
+package com.travelitinerary.planner.service;
+
+import com.travelitinerary.planner.dto.CursorPage;
+import com.travelitinerary.planner.dto.TripResponse;
+import com.travelitinerary.planner.model.Destination;
+import com.travelitinerary.planner.model.Trip;
+import com.travelitinerary.planner.model.User;
+import com.travelitinerary.planner.repository.DestinationRepository;
+import com.travelitinerary.planner.repository.TripRepository;
+import com.travelitinerary.planner.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TripServiceTest {
+    
+    private static final int TRIPS = 5;
+    
+    private static final int DESTINATIONS_PER_TRIP = 3;
+    
+    @Autowired
+    private TripService tripService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private TripRepository tripRepository;
+    
+    @Autowired
+    private DestinationRepository destinationRepository;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Test
+    void tripListStatementCountDoesNotGrowWithTripCount() {
+        String fewTrips = seedUser(TRIPS);
+        String manyTrips = seedUser(10 * TRIPS);
+        
+        long fewStatements = countStatements(fewTrips, TRIPS);
+        long manyStatements = countStatements(manyTrips, 10 * TRIPS);
+        
+        assertEquals(fewStatements, manyStatements);
+    }
+    
+    // Statements prepared for one listing, after a first call has resolved the user and warmed the caches
+    private long countStatements(String email, int expectedTrips) {
+        tripService.getUserTrips(email, null, 10 * TRIPS);
+        
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        CursorPage<TripResponse> page = tripService.getUserTrips(email, null, 10 * TRIPS);
+        long statements = statistics.getPrepareStatementCount();
+        
+        assertEquals(expectedTrips, page.getItems().size());
+        for (TripResponse trip : page.getItems()) {
+            assertEquals(DESTINATIONS_PER_TRIP, trip.getDestinations());
+        }
+        return statements;
+    }
+    
+    private String seedUser(int trips) {
+        String email = "trips-" + UUID.randomUUID() + "@example.com";
+        User user = userRepository.save(new User("Trip List Test", email, "not-a-real-hash"));
+        LocalDate start = LocalDate.now().plusDays(10);
+        for (int t = 0; t < trips; t++) {
+            Trip trip = tripRepository.save(new Trip("Trip " + t, null, start, start.plusDays(3), user));
+            for (int d = 1; d <= DESTINATIONS_PER_TRIP; d++) {
+                destinationRepository.save(new Destination("Stop " + d, null, start, null, null, null,
+                        d * DestinationOrderService.ORDER_GAP, trip));
+            }
+        }
+        return email;
+    }
+}
\ No newline at end of file
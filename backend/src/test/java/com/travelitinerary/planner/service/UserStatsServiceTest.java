@@ -0,0 +1,77 @@
+package com.travelitinerary.planner.service;
+
+import com.travelitinerary.planner.model.Trip;
+import com.travelitinerary.planner.model.User;
+import com.travelitinerary.planner.repository.ExpenseRepository;
+import com.travelitinerary.planner.repository.TripRepository;
+import com.travelitinerary.planner.repository.UserRepository;
+import com.travelitinerary.planner.repository.UserStatsRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UserStatsServiceTest {
+    
+    // How long the reconcile waits for the concurrent trip, which either commits or blocks on the stats row
+    private static final long CONCURRENT_WAIT_MILLIS = 1000;
+    
+    @Autowired
+    private UserStatsService userStatsService;
+    
+    @Autowired
+    private UserStatsRepository userStatsRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private TripRepository tripRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @SpyBean
+    private ExpenseRepository expenseRepository;
+    
+    @Test
+    void reconcileKeepsTripCreatedWhileItCounts() throws Exception {
+        String email = "stats-" + UUID.randomUUID() + "@example.com";
+        User user = userRepository.save(new User("Stats Test", email, "not-a-real-hash"));
+        userStatsService.initialize(user.getId());
+        createTrip(user);
+        
+        // A trip is created after reconcile has counted trips but before it has written its figures
+        Thread concurrentTrip = new Thread(() -> createTrip(user));
+        doAnswer(invocation -> {
+            concurrentTrip.start();
+            concurrentTrip.join(CONCURRENT_WAIT_MILLIS);
+            return invocation.callRealMethod();
+        }).when(expenseRepository).sumByUserIds(any());
+        
+        userStatsService.reconcile(List.of(user.getId()));
+        concurrentTrip.join();
+        
+        assertEquals(2, userStatsRepository.findById(user.getId()).orElseThrow().getTotalTrips());
+    }
+    
+    private void createTrip(User user) {
+        LocalDate start = LocalDate.now().plusDays(30);
+        transactionTemplate.executeWithoutResult(status -> {
+            tripRepository.save(new Trip("Stats", null, start, start.plusDays(3), user));
+            userStatsService.onTripCreated(user.getId(), start);
+        });
+    }
+}
\ No newline at end of file